@@ -0,0 +1,61 @@
+package illumi.code.ddd.controller;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.json.JSONObject;
+
+/**
+ * Analysis running in the background. The job shares its id with the session it analyses.
+ */
+public class AnalyseJob {
+
+  public enum Status {
+    RUNNING,
+    DONE,
+    FAILED
+  }
+
+  private final AnalyseSession session;
+  private final CompletableFuture<String> result;
+
+  AnalyseJob(AnalyseSession session, CompletableFuture<String> result) {
+    this.session = session;
+    this.result = result;
+  }
+
+  public String getId() {
+    return session.getId();
+  }
+
+  public AnalyseSession getSession() {
+    return session;
+  }
+
+  public CompletableFuture<String> getResult() {
+    return result;
+  }
+
+  /**
+   * Status of the job.
+   *
+   * @return Status
+   */
+  public Status getStatus() {
+    if (!result.isDone()) {
+      return Status.RUNNING;
+    }
+    return result.isCompletedExceptionally() ? Status.FAILED : Status.DONE;
+  }
+
+  /**
+   * Status and progress of the job as JSON.
+   *
+   * @return JSONObject
+   */
+  public JSONObject toJSON() {
+    return session.getProgress().toJSON()
+        .put("id", getId())
+        .put("path", session.getPath())
+        .put("status", getStatus());
+  }
+}
@@ -0,0 +1,107 @@
+package illumi.code.ddd.controller;
+
+import illumi.code.ddd.service.analyse.AnalyseConfiguration;
+import illumi.code.ddd.service.analyse.AnalyseExecutorFactory;
+import illumi.code.ddd.service.analyse.AnalyseResultCache;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Analysis jobs by id. A job submitted for a system module that is already being analysed
+ * joins the running job. The session of a job stays open until the job is finished.
+ */
+@Singleton
+public class AnalyseJobRegistry {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AnalyseJobRegistry.class);
+
+  private final AnalyseSessionRegistry sessions;
+  private final AnalyseResultCache resultCache;
+  private final ExecutorService executor;
+  private final int maxEntries;
+
+  private final LinkedHashMap<String, AnalyseJob> jobs;
+  private final HashMap<String, AnalyseJob> running;
+
+  /**
+   * Constructor of AnalyseJobRegistry.
+   *
+   * @param configuration : configuration of the analysis
+   * @param sessions      : registry of the analysis sessions
+   * @param resultCache   : cache of the analysis results
+   * @param executor      : executor of the jobs
+   */
+  public @Inject AnalyseJobRegistry(AnalyseConfiguration configuration,
+                                    AnalyseSessionRegistry sessions,
+                                    AnalyseResultCache resultCache,
+                                    @Named(AnalyseExecutorFactory.ANALYSE_JOBS)
+                                        ExecutorService executor) {
+    this.sessions = sessions;
+    this.resultCache = resultCache;
+    this.executor = executor;
+    this.maxEntries = configuration.getSessionMaxEntries();
+    this.jobs = new LinkedHashMap<>();
+    this.running = new HashMap<>();
+  }
+
+  /**
+   * Start the analysis of a system module in the background.
+   *
+   * @param path : fully qualified name of the system module
+   * @return new job or the job already running for the system module
+   */
+  public synchronized AnalyseJob submit(String path) {
+    AnalyseJob job = running.get(path);
+    if (job != null) {
+      LOGGER.info("[JOB] - JOIN - {} - {}", job.getId(), path);
+      return job;
+    }
+
+    AnalyseSession session = sessions.create(path);
+    session.setPinned(true);
+    job = new AnalyseJob(session,
+        CompletableFuture.supplyAsync(() -> session.analyse(resultCache), executor));
+    LOGGER.info("[JOB] - SUBMIT - {} - {}", job.getId(), path);
+    jobs.put(job.getId(), job);
+    running.put(path, job);
+    evict();
+
+    AnalyseJob submitted = job;
+    job.getResult().whenComplete((result, error) -> finish(path, submitted, error));
+    return job;
+  }
+
+  /**
+   * Get a job.
+   *
+   * @param id : id of the job
+   * @return AnalyseJob, null if unknown
+   */
+  public synchronized AnalyseJob get(String id) {
+    return jobs.get(id);
+  }
+
+  private synchronized void finish(String path, AnalyseJob job, Throwable error) {
+    running.remove(path, job);
+    job.getSession().setPinned(false);
+    if (error != null) {
+      LOGGER.error(error.getMessage(), error);
+    } else {
+      LOGGER.info("[JOB] - DONE - {} - {}", job.getId(), path);
+    }
+  }
+
+  private void evict() {
+    jobs.values().removeIf(job -> jobs.size() > maxEntries
+        && job.getStatus() != AnalyseJob.Status.RUNNING);
+  }
+}
@@ -0,0 +1,121 @@
+package illumi.code.ddd.controller;
+
+import illumi.code.ddd.service.analyse.AnalyseListener;
+import illumi.code.ddd.service.analyse.AnalysePhase;
+import illumi.code.ddd.service.refactor.RefactorListener;
+import illumi.code.ddd.service.refactor.RefactorStep;
+
+import io.reactivex.Flowable;
+import io.reactivex.processors.ReplayProcessor;
+
+import org.json.JSONObject;
+
+/**
+ * Progress of the analysis and refactoring of a session, updated by the analysis threads.
+ * Every finished phase or step is published as event with its count and the elapsed time since
+ * the operation started, the events of an operation are replayed to late subscribers.
+ */
+public class AnalyseProgress implements AnalyseListener, RefactorListener {
+
+  private volatile AnalysePhase finished;
+  private volatile int count;
+
+  private ReplayProcessor<JSONObject> events;
+  private boolean running;
+  private boolean completed;
+  private long started;
+
+  public AnalyseProgress() {
+    this.events = ReplayProcessor.create();
+  }
+
+  @Override
+  public void onPhase(AnalysePhase phase, int count) {
+    this.finished = phase;
+    this.count = count;
+    publish(phase.name(), count);
+  }
+
+  @Override
+  public void onStep(RefactorStep step, int count) {
+    publish(step.name(), count);
+  }
+
+  /**
+   * Start a new operation, subscribers of a finished operation get the events of the new one.
+   */
+  synchronized void start() {
+    this.finished = null;
+    this.count = 0;
+    if (completed) {
+      events = ReplayProcessor.create();
+      completed = false;
+    }
+    running = true;
+    started = System.nanoTime();
+  }
+
+  synchronized boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Finish the running operation and complete its event stream.
+   */
+  synchronized void finish() {
+    if (running) {
+      running = false;
+      completed = true;
+      events.onComplete();
+    }
+  }
+
+  /**
+   * Events of the running operation, or of the last one if none is running.
+   *
+   * @return Flowable of the events, completes when the operation is finished
+   */
+  public synchronized Flowable<JSONObject> getEvents() {
+    return events;
+  }
+
+  private synchronized void publish(String name, int count) {
+    if (running) {
+      events.onNext(new JSONObject()
+          .put("event", name)
+          .put("count", count)
+          .put("elapsed", (System.nanoTime() - started) / 1_000_000));
+    }
+  }
+
+  /**
+   * Phase running at the moment, the last one if the analysis is done.
+   *
+   * @return AnalysePhase
+   */
+  public AnalysePhase getPhase() {
+    AnalysePhase phase = finished;
+    if (phase == null) {
+      return AnalysePhase.values()[0];
+    }
+    AnalysePhase[] phases = AnalysePhase.values();
+    return phase.ordinal() + 1 < phases.length ? phases[phase.ordinal() + 1] : phase;
+  }
+
+  public int getPercent() {
+    AnalysePhase phase = finished;
+    return phase != null ? phase.getPercent() : 0;
+  }
+
+  /**
+   * Progress as JSON.
+   *
+   * @return JSONObject
+   */
+  public JSONObject toJSON() {
+    return new JSONObject()
+        .put("phase", getPhase())
+        .put("percent", getPercent())
+        .put("count", count);
+  }
+}
@@ -0,0 +1,249 @@
+package illumi.code.ddd.controller;
+
+import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.artifacts.Artifact;
+import illumi.code.ddd.service.analyse.AnalysePhase;
+import illumi.code.ddd.service.analyse.AnalyseResultCache;
+import illumi.code.ddd.service.analyse.AnalyseService;
+import illumi.code.ddd.service.fitness.FitnessService;
+import illumi.code.ddd.service.metric.MetricService;
+import illumi.code.ddd.service.refactor.RefactorService;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.json.JSONObject;
+
+/**
+ * Analysis of one system module with its own structure and service instances, so that
+ * sessions of different clients can run in parallel.
+ */
+public class AnalyseSession {
+
+  private final String id;
+  private final String path;
+
+  private final AnalyseService analyseService;
+  private final FitnessService fitnessService;
+  private final MetricService metricService;
+  private final RefactorService refactorService;
+  private final AnalyseProgress progress;
+  private final boolean streaming;
+
+  private volatile DDDStructure structure;
+  private volatile long lastAccess;
+  private volatile boolean pinned;
+
+  /**
+   * Constructor of AnalyseSession.
+   *
+   * @param id              : id of the session
+   * @param path            : fully qualified name of the system module
+   * @param analyseService  : analyse service of the session
+   * @param fitnessService  : fitness service of the session
+   * @param metricService   : metric service of the session
+   * @param refactorService : refactor service of the session
+   * @param streaming       : true if the structure is streamed instead of rendered as string
+   */
+  public AnalyseSession(String id, String path, AnalyseService analyseService,
+                        FitnessService fitnessService, MetricService metricService,
+                        RefactorService refactorService, boolean streaming) {
+    this.id = id;
+    this.path = path;
+    this.analyseService = analyseService;
+    this.fitnessService = fitnessService;
+    this.metricService = metricService;
+    this.refactorService = refactorService;
+    this.progress = new AnalyseProgress();
+    this.streaming = streaming;
+    this.lastAccess = System.nanoTime();
+    analyseService.setListener(progress);
+    refactorService.setListener(progress);
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public DDDStructure getStructure() {
+    return structure;
+  }
+
+  public AnalyseProgress getProgress() {
+    return progress;
+  }
+
+  long getLastAccess() {
+    return lastAccess;
+  }
+
+  void touch() {
+    lastAccess = System.nanoTime();
+  }
+
+  /**
+   * Keep the session open or release it, e.g. while a job is waiting for or running its
+   * analysis. The time to live starts again when the session is released.
+   *
+   * @param pinned : true to keep the session open
+   */
+  void setPinned(boolean pinned) {
+    this.pinned = pinned;
+    touch();
+  }
+
+  /**
+   * A session is busy while it is pinned or an operation is running, busy sessions are not
+   * closed.
+   *
+   * @return true if busy
+   */
+  boolean isBusy() {
+    return pinned || progress.isRunning();
+  }
+
+  /**
+   * Analyse the system module from Neo4j, or take the result from the cache if the scanned
+   * graph has not changed since it was analysed.
+   *
+   * @param resultCache : cache of the analysis results
+   * @return structure with fitness as JSON, null if it is streamed
+   */
+  public synchronized String analyse(AnalyseResultCache resultCache) {
+    progress.start();
+    try {
+      return analyse(resultCache, analyseService.getVersion(path));
+    } finally {
+      progress.finish();
+    }
+  }
+
+  private String analyse(AnalyseResultCache resultCache, String version) {
+    AnalyseResultCache.Result cached = version != null ? resultCache.get(path, version) : null;
+    if (cached != null && (streaming || cached.getResponse() != null)) {
+      setStructure(cached.getStructure());
+      progress.onPhase(AnalysePhase.FITNESS, countEvaluated());
+      return cached.getResponse();
+    }
+    analyseService.setStructure(newStructure());
+    analyseService.analyzeStructure(path);
+    String response = getStructureWithFitness();
+    if (version != null) {
+      resultCache.put(path, version, structure, response);
+    }
+    return response;
+  }
+
+  /**
+   * Analyse the system module from Neo4j (or take it from the cache) without rendering it.
+   *
+   * @param resultCache : cache of the analysis results
+   * @param evaluated   : called (from parallel threads) as soon as the type and fitness of an
+   *                      artifact are final
+   */
+  public synchronized void evaluate(AnalyseResultCache resultCache,
+                                    Consumer<Artifact> evaluated) {
+    progress.start();
+    try {
+      String version = analyseService.getVersion(path);
+      AnalyseResultCache.Result cached = version != null ? resultCache.get(path, version) : null;
+      if (cached != null) {
+        setStructure(cached.getStructure());
+        Stream.of(structure.getPackages(), structure.getClasses(), structure.getInterfaces(),
+            structure.getAnnotations(), structure.getEnums())
+            .flatMap(artifacts -> artifacts.stream().map(Artifact.class::cast))
+            .forEach(evaluated);
+      } else {
+        analyseService.setStructure(newStructure());
+        analyseService.analyzeStructure(path);
+        fitnessService.evaluate(evaluated);
+        if (version != null) {
+          resultCache.put(path, version, structure, null);
+        }
+      }
+      progress.onPhase(AnalysePhase.FITNESS, countEvaluated());
+    } finally {
+      progress.finish();
+    }
+  }
+
+  /**
+   * Analyse the system module from a snapshot.
+   *
+   * @param file : snapshot of the system module
+   * @return structure with fitness as JSON, null if it is streamed
+   */
+  public synchronized String analyseSnapshot(Path file) {
+    progress.start();
+    try {
+      analyseService.setStructure(newStructure());
+      analyseService.analyzeSnapshot(file);
+      return getStructureWithFitness();
+    } finally {
+      progress.finish();
+    }
+  }
+
+  /**
+   * Use an already analysed structure, e.g. from the result cache.
+   *
+   * @param structure : analysed structure
+   */
+  public synchronized void setStructure(DDDStructure structure) {
+    this.structure = structure;
+    fitnessService.setStructure(structure);
+  }
+
+  public synchronized JSONObject getMetric() {
+    metricService.setStructure(structure);
+    return metricService.getMetric();
+  }
+
+  /**
+   * Refactor the structure of the session, the refactored structure replaces it. The refactoring
+   * works on a copy, because the analysed structure may be shared with other sessions through
+   * the result cache.
+   *
+   * @return refactored structure with fitness as JSON, null if it is streamed
+   */
+  public synchronized String refactor() {
+    progress.start();
+    try {
+      refactorService.setOldStructure(structure.copy());
+      setStructure(refactorService.refactor());
+      return getStructureWithFitness();
+    } finally {
+      progress.finish();
+    }
+  }
+
+  private String getStructureWithFitness() {
+    String response = null;
+    if (streaming) {
+      fitnessService.evaluate();
+    } else {
+      response = fitnessService.getStructureWithFitness().toString();
+    }
+    progress.onPhase(AnalysePhase.FITNESS, countEvaluated());
+    return response;
+  }
+
+  private int countEvaluated() {
+    return structure.getPackages().size()
+        + structure.getClasses().size()
+        + structure.getInterfaces().size()
+        + structure.getAnnotations().size()
+        + structure.getEnums().size();
+  }
+
+  private DDDStructure newStructure() {
+    DDDStructure newStructure = new DDDStructure();
+    setStructure(newStructure);
+    return newStructure;
+  }
+}
@@ -0,0 +1,122 @@
+package illumi.code.ddd.controller;
+
+import illumi.code.ddd.service.analyse.AnalyseConfiguration;
+import illumi.code.ddd.service.analyse.AnalyseService;
+import illumi.code.ddd.service.fitness.FitnessService;
+import illumi.code.ddd.service.metric.MetricService;
+import illumi.code.ddd.service.refactor.RefactorService;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Open analysis sessions by id. Each session gets new service instances, sessions are removed
+ * after their time to live or when too many are open (least recently used first). Busy sessions
+ * are kept until they are done.
+ */
+@Singleton
+public class AnalyseSessionRegistry {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AnalyseSessionRegistry.class);
+
+  private final Provider<AnalyseService> analyseServices;
+  private final Provider<FitnessService> fitnessServices;
+  private final Provider<MetricService> metricServices;
+  private final Provider<RefactorService> refactorServices;
+
+  private final int maxEntries;
+  private final long ttl;
+  private final boolean streaming;
+
+  private final LinkedHashMap<String, AnalyseSession> sessions;
+  private AnalyseSession latest;
+
+  /**
+   * Constructor of AnalyseSessionRegistry.
+   *
+   * @param configuration    : configuration of the analysis
+   * @param analyseServices  : provider of analyse services
+   * @param fitnessServices  : provider of fitness services
+   * @param metricServices   : provider of metric services
+   * @param refactorServices : provider of refactor services
+   */
+  public @Inject AnalyseSessionRegistry(AnalyseConfiguration configuration,
+                                        Provider<AnalyseService> analyseServices,
+                                        Provider<FitnessService> fitnessServices,
+                                        Provider<MetricService> metricServices,
+                                        Provider<RefactorService> refactorServices) {
+    this.analyseServices = analyseServices;
+    this.fitnessServices = fitnessServices;
+    this.metricServices = metricServices;
+    this.refactorServices = refactorServices;
+    this.maxEntries = configuration.getSessionMaxEntries();
+    this.ttl = configuration.getSessionTtl().toNanos();
+    this.streaming = configuration.isStreaming();
+    this.sessions = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Open a new session for a system module.
+   *
+   * @param path : fully qualified name of the system module
+   * @return AnalyseSession
+   */
+  public synchronized AnalyseSession create(String path) {
+    AnalyseSession session = new AnalyseSession(UUID.randomUUID().toString(), path,
+        analyseServices.get(), fitnessServices.get(), metricServices.get(),
+        refactorServices.get(), streaming);
+    LOGGER.info("[SESSION] - CREATE - {} - {}", session.getId(), path);
+    sessions.put(session.getId(), session);
+    latest = session;
+    evict();
+    return session;
+  }
+
+  /**
+   * Get an open session.
+   *
+   * @param id : id of the session
+   * @return AnalyseSession, null if unknown or expired
+   */
+  public synchronized AnalyseSession get(String id) {
+    evict();
+    AnalyseSession session = sessions.get(id);
+    if (session != null) {
+      session.touch();
+    }
+    return session;
+  }
+
+  /**
+   * Get the session opened last, used by the requests without session id.
+   *
+   * @return AnalyseSession, null if it is closed
+   */
+  public synchronized AnalyseSession getLatest() {
+    return latest != null ? get(latest.getId()) : null;
+  }
+
+  private void evict() {
+    long now = System.nanoTime();
+    Iterator<AnalyseSession> iterator = sessions.values().iterator();
+    while (iterator.hasNext()) {
+      AnalyseSession session = iterator.next();
+      if (session.isBusy()) {
+        continue;
+      }
+      if (sessions.size() > maxEntries || now - session.getLastAccess() > ttl) {
+        LOGGER.info("[SESSION] - CLOSE - {}", session.getId());
+        iterator.remove();
+      } else {
+        break;
+      }
+    }
+  }
+}
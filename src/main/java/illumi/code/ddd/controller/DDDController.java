@@ -1,21 +1,35 @@
 package illumi.code.ddd.controller;
 
-import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.DDDStructureWriter;
+import illumi.code.ddd.service.analyse.AnalyseConfiguration;
+import illumi.code.ddd.service.analyse.AnalyseExecutorFactory;
+import illumi.code.ddd.service.analyse.AnalyseResultCache;
 import illumi.code.ddd.service.analyse.AnalyseService;
-import illumi.code.ddd.service.fitness.FitnessService;
-import illumi.code.ddd.service.metric.MetricService;
-import illumi.code.ddd.service.refactor.RefactorService;
 
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.sse.Event;
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableEmitter;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 import javax.inject.Inject;
+import javax.inject.Named;
 
-import org.json.JSONArray;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,88 +38,296 @@ import org.slf4j.LoggerFactory;
 @Controller()
 @SuppressWarnings("CheckStyle")
 public class DDDController {
+  static final String SESSION_HEADER = "X-Session-Id";
+  static final String APPLICATION_NDJSON = "application/x-ndjson";
+
   private static final Logger LOGGER = LoggerFactory.getLogger(DDDController.class);
 
-  private long timeStart;
+  private static final String NO_SESSION = "{\"message\":\"No project has been analyzed!\"}";
+  private static final String INVALID_PATH = "{\"message\":\"Invalid name of the project!\"}";
+  private static final Pattern PACKAGE_NAME = Pattern.compile("[\\w.]+");
 
   @Inject
-  AnalyseService analyseService;
+  AnalyseConfiguration configuration;
   @Inject
-  FitnessService fitnessService;
+  AnalyseResultCache resultCache;
   @Inject
-  MetricService metricService;
+  AnalyseSessionRegistry sessions;
   @Inject
-  RefactorService refactorService;
-
-  private DDDStructure newStructure;
+  AnalyseService analyseService;
+  @Inject
+  @Named(AnalyseExecutorFactory.ANALYSE_JOBS)
+  ExecutorService analyseExecutor;
+  @Inject
+  @Named(AnalyseExecutorFactory.ANALYSE_IO)
+  ExecutorService ioExecutor;
 
   /**
    * HTTP GET: analyse.
    *
    * @param path : fully qualified name of the system module
-   * @return HttpResponse as JSON
+   * @return HttpResponse as JSON, the id of the new session in the header X-Session-Id
    */
   @Get("/analyse/{path}")
   @Produces(MediaType.APPLICATION_JSON)
-  public HttpResponse<String> getArtifacts(String path) {
-    startTime();
+  public Single<HttpResponse<?>> getArtifacts(String path) {
     LOGGER.info("HTTP GET: analyse/{}", path);
-    newStructure = new DDDStructure();
-    analyseService.setStructure(newStructure);
-    fitnessService.setStructure(newStructure);
-    analyseService.analyzeStructure(path);
-    JSONArray response = fitnessService.getStructureWithFitness();
-    stopTimestamp();
-    return HttpResponse.ok(response.toString());
+    return Single.<HttpResponse<?>>fromCallable(() -> analyse(path))
+        .subscribeOn(analyseScheduler());
+  }
+
+  private HttpResponse<?> analyse(String path) {
+    long timeStart = System.currentTimeMillis();
+    AnalyseSession session = sessions.create(path);
+    String response = session.analyse(resultCache);
+    stopTimestamp(timeStart);
+    return structure(session, response, analyseScheduler());
+  }
+
+  /**
+   * HTTP GET: analyse as NDJSON, one summary per artifact as soon as it is evaluated.
+   *
+   * @param path : fully qualified name of the system module
+   * @return Flowable of JSON lines
+   */
+  @Get("/analyse/stream/{path}")
+  @Produces(APPLICATION_NDJSON)
+  public Flowable<String> getArtifactSummaries(String path) {
+    LOGGER.info("HTTP GET: analyse/stream/{}", path);
+    return Flowable.<String>create(emitter -> {
+      FlowableEmitter<String> lines = emitter.serialize();
+      long timeStart = System.currentTimeMillis();
+      AnalyseSession session = sessions.create(path);
+      session.evaluate(resultCache, artifact -> {
+        if (!lines.isCancelled()) {
+          lines.onNext(artifact.toJSONSummary().toString() + "\n");
+        }
+      });
+      stopTimestamp(timeStart);
+      lines.onComplete();
+    }, BackpressureStrategy.BUFFER)
+        .subscribeOn(analyseScheduler());
+  }
+
+  /**
+   * HTTP GET: analyse from a snapshot.
+   *
+   * @param path : fully qualified name of the system module
+   * @return HttpResponse as JSON, the id of the new session in the header X-Session-Id
+   */
+  @Get("/analyse/snapshot/{path}")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Single<HttpResponse<?>> getArtifactsFromSnapshot(String path) {
+    LOGGER.info("HTTP GET: analyse/snapshot/{}", path);
+    return Single.<HttpResponse<?>>fromCallable(() -> analyseSnapshot(path))
+        .subscribeOn(analyseScheduler());
+  }
+
+  private HttpResponse<?> analyseSnapshot(String path) {
+    long timeStart = System.currentTimeMillis();
+    Path file = getSnapshotFile(path);
+    if (file == null) {
+      stopTimestamp(timeStart);
+      return HttpResponse.badRequest(INVALID_PATH);
+    }
+    if (!file.toFile().isFile()) {
+      stopTimestamp(timeStart);
+      return HttpResponse.badRequest("{\"message\":\"No snapshot of the project exists!\"}");
+    }
+    AnalyseSession session = sessions.create(path);
+    String response = session.analyseSnapshot(file);
+    stopTimestamp(timeStart);
+    return structure(session, response, analyseScheduler());
+  }
+
+  /**
+   * HTTP POST: snapshot, written to the snapshot directory.
+   *
+   * @param path : fully qualified name of the system module
+   * @return HttpResponse as JSON
+   */
+  @Post("/snapshot/{path}")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Single<HttpResponse<String>> createSnapshot(String path) {
+    LOGGER.info("HTTP POST: snapshot/{}", path);
+    return Single.fromCallable(() -> exportSnapshot(path))
+        .subscribeOn(Schedulers.from(ioExecutor));
+  }
+
+  private HttpResponse<String> exportSnapshot(String path) {
+    long timeStart = System.currentTimeMillis();
+    Path file = getSnapshotFile(path);
+    if (file == null) {
+      stopTimestamp(timeStart);
+      return HttpResponse.badRequest(INVALID_PATH);
+    }
+    if (analyseService.exportSnapshot(path, file)) {
+      JSONObject response = new JSONObject().put("snapshot", file.toString());
+      stopTimestamp(timeStart);
+      return HttpResponse.ok(response.toString());
+    }
+    stopTimestamp(timeStart);
+    return HttpResponse.serverError("{\"message\":\"Snapshot could not be written!\"}");
+  }
+
+  /**
+   * Get the snapshot file of a system module inside the snapshot directory.
+   *
+   * @param path : fully qualified name of the system module
+   * @return file, null if the name is not a package name or leaves the directory
+   */
+  private Path getSnapshotFile(String path) {
+    if (path == null || !PACKAGE_NAME.matcher(path).matches()) {
+      return null;
+    }
+    Path file = Paths.get(configuration.getSnapshotDirectory(), path + ".snapshot");
+    Path directory = Paths.get(configuration.getSnapshotDirectory()).toAbsolutePath().normalize();
+    if (!file.toAbsolutePath().normalize().startsWith(directory)) {
+      return null;
+    }
+    return file;
   }
 
   /**
-   * HTTP GET: metric.
+   * HTTP GET: metric of the last analysis.
    *
    * @return HttpResponse as JSON
    */
   @Get("/metric")
   @Produces(MediaType.APPLICATION_JSON)
-  public HttpResponse<String> getMetrics() {
-    startTime();
+  public Single<HttpResponse<String>> getMetrics() {
     LOGGER.info("HTTP GET: metric/");
-    if (newStructure != null) {
-      metricService.setStructure(newStructure);
-      JSONObject response = metricService.getMetric();
-      stopTimestamp();
-      return HttpResponse.ok(response.toString());
+    return Single.fromCallable(() -> getMetrics(sessions.getLatest()))
+        .subscribeOn(Schedulers.computation());
+  }
+
+  /**
+   * HTTP GET: metric of a session.
+   *
+   * @param session : id of the session
+   * @return HttpResponse as JSON
+   */
+  @Get("/metric/{session}")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Single<HttpResponse<String>> getMetrics(String session) {
+    LOGGER.info("HTTP GET: metric/{}", session);
+    return Single.fromCallable(() -> getMetrics(sessions.get(session)))
+        .subscribeOn(Schedulers.computation());
+  }
+
+  private HttpResponse<String> getMetrics(AnalyseSession session) {
+    long timeStart = System.currentTimeMillis();
+    if (session != null && session.getStructure() != null) {
+      JSONObject response = session.getMetric();
+      stopTimestamp(timeStart);
+      return ok(session, response.toString());
     }
-    stopTimestamp();
-    return HttpResponse.badRequest("{\"message\":\"No project has been analyzed!\"}");
+    stopTimestamp(timeStart);
+    return HttpResponse.badRequest(NO_SESSION);
   }
 
   /**
-   * HTTP GET: refactor.
+   * HTTP GET: refactor the last analysis.
    *
    * @return HttpResponse as JSON
    */
   @Get("/refactor")
   @Produces(MediaType.APPLICATION_JSON)
-  public HttpResponse<String> refactor() {
-    startTime();
+  public Single<HttpResponse<?>> refactor() {
     LOGGER.info("HTTP GET: refactor/");
-    if (newStructure != null) {
-      refactorService.setOldStructure(newStructure);
-      newStructure = refactorService.refactor();
-      fitnessService.setStructure(newStructure);
-      JSONArray response = fitnessService.getStructureWithFitness();
-      stopTimestamp();
-      return HttpResponse.ok(response.toString());
+    return Single.<HttpResponse<?>>fromCallable(() -> refactor(sessions.getLatest()))
+        .subscribeOn(Schedulers.computation());
+  }
+
+  /**
+   * HTTP GET: refactor a session.
+   *
+   * @param session : id of the session
+   * @return HttpResponse as JSON
+   */
+  @Get("/refactor/{session}")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Single<HttpResponse<?>> refactor(String session) {
+    LOGGER.info("HTTP GET: refactor/{}", session);
+    return Single.<HttpResponse<?>>fromCallable(() -> refactor(sessions.get(session)))
+        .subscribeOn(Schedulers.computation());
+  }
+
+  private HttpResponse<?> refactor(AnalyseSession session) {
+    long timeStart = System.currentTimeMillis();
+    if (session != null && session.getStructure() != null) {
+      String response = session.refactor();
+      stopTimestamp(timeStart);
+      return structure(session, response, analyseScheduler());
     }
-    stopTimestamp();
-    return HttpResponse.badRequest("{\"message\":\"No project has been analyzed!\"}");
+    stopTimestamp(timeStart);
+    return HttpResponse.badRequest(NO_SESSION);
   }
 
-  private void startTime() {
-    timeStart = System.currentTimeMillis();
+  /**
+   * HTTP GET: progress of a session as server-sent events. The events of the running (or last)
+   * operation are replayed, the stream completes when the operation is finished.
+   * The id of a synchronous analysis is only sent with its result, so the live progress of an
+   * analysis is followed with the id of the job returned by POST jobs/analyse, which is also the
+   * id of its session.
+   *
+   * @param session : id of the session
+   * @return Flowable of events, one per finished phase or refactor step
+   */
+  @Get("/progress/{session}")
+  @Produces(MediaType.TEXT_EVENT_STREAM)
+  public Flowable<Event<String>> getProgress(String session) {
+    LOGGER.info("HTTP GET: progress/{}", session);
+    return getProgress(sessions.get(session));
+  }
+
+  private Flowable<Event<String>> getProgress(AnalyseSession session) {
+    if (session == null) {
+      return Flowable.just(Event.of(NO_SESSION).name("error"));
+    }
+    return session.getProgress().getEvents()
+        .map(event -> Event.of(event.toString()).name(event.getString("event")));
+  }
+
+  private Scheduler analyseScheduler() {
+    return Schedulers.from(analyseExecutor);
+  }
+
+  private static MutableHttpResponse<String> ok(AnalyseSession session, String response) {
+    return HttpResponse.ok(response).header(SESSION_HEADER, session.getId());
+  }
+
+  /**
+   * Response with the structure of a session, streamed if it has not been rendered. The chunks
+   * of a streamed structure are written on the scheduler, the event loop only sends them.
+   *
+   * @param session   : session of the structure
+   * @param response  : rendered structure or null
+   * @param scheduler : scheduler writing the chunks
+   * @return HttpResponse as JSON
+   */
+  static MutableHttpResponse<?> structure(AnalyseSession session, String response,
+                                          Scheduler scheduler) {
+    if (response != null) {
+      return ok(session, response);
+    }
+    Flowable<byte[]> chunks = Flowable.<byte[], DDDStructureWriter>generate(
+        () -> new DDDStructureWriter(session.getStructure()),
+        (writer, emitter) -> {
+          String chunk = writer.nextChunk();
+          if (chunk != null) {
+            emitter.onNext(chunk.getBytes(StandardCharsets.UTF_8));
+          } else {
+            emitter.onComplete();
+          }
+        })
+        .subscribeOn(scheduler);
+    return HttpResponse.ok(chunks)
+        .contentType(MediaType.APPLICATION_JSON_TYPE)
+        .header(SESSION_HEADER, session.getId());
   }
 
-  private void stopTimestamp() {
+  private void stopTimestamp(long timeStart) {
     long ms = System.currentTimeMillis() - timeStart;
     long min = TimeUnit.MILLISECONDS.toMinutes(ms);
     long sec = TimeUnit.MILLISECONDS.toSeconds(ms);
@@ -114,4 +336,4 @@ public class DDDController {
 
     LOGGER.info("[FINISHED] - {}min {}s {}ms", min, sec, ms);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+package illumi.code.ddd.controller;
+
+import illumi.code.ddd.service.analyse.AnalyseExecutorFactory;
+
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
+import io.reactivex.schedulers.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+@Controller("/jobs")
+public class JobController {
+  private static final Logger LOGGER = LoggerFactory.getLogger(JobController.class);
+
+  private static final String NO_JOB = "{\"message\":\"No job with this id exists!\"}";
+  private static final String NO_PATH = "{\"message\":\"No path of the project given!\"}";
+
+  @Inject
+  AnalyseJobRegistry jobs;
+  @Inject
+  @Named(AnalyseExecutorFactory.ANALYSE_JOBS)
+  ExecutorService analyseExecutor;
+
+  /**
+   * HTTP POST: jobs/analyse.
+   *
+   * @param path : fully qualified name of the system module
+   * @return HttpResponse as JSON with the id of the job, bad request without path
+   */
+  @Post("/analyse")
+  @Produces(MediaType.APPLICATION_JSON)
+  public HttpResponse<String> analyse(String path) {
+    LOGGER.info("HTTP POST: jobs/analyse/{}", path);
+    if (StringUtils.isBlank(path)) {
+      return HttpResponse.badRequest(NO_PATH);
+    }
+    AnalyseJob job = jobs.submit(path);
+    return HttpResponse.<String>status(HttpStatus.ACCEPTED)
+        .body(job.toJSON().toString());
+  }
+
+  /**
+   * HTTP GET: jobs/{id}.
+   *
+   * @param id : id of the job
+   * @return HttpResponse as JSON with status, phase and percent done of the job
+   */
+  @Get("/{id}")
+  @Produces(MediaType.APPLICATION_JSON)
+  public HttpResponse<String> getJob(String id) {
+    AnalyseJob job = jobs.get(id);
+    if (job == null) {
+      return HttpResponse.notFound(NO_JOB);
+    }
+    return HttpResponse.ok(job.toJSON().toString());
+  }
+
+  /**
+   * HTTP GET: jobs/{id}/result.
+   *
+   * @param id : id of the job
+   * @return HttpResponse as JSON, the status of the job while it is running
+   */
+  @Get("/{id}/result")
+  @Produces(MediaType.APPLICATION_JSON)
+  public HttpResponse<?> getResult(String id) {
+    AnalyseJob job = jobs.get(id);
+    if (job == null) {
+      return HttpResponse.notFound(NO_JOB);
+    }
+    switch (job.getStatus()) {
+      case DONE:
+        return DDDController.structure(job.getSession(), job.getResult().join(),
+            Schedulers.from(analyseExecutor));
+      case FAILED:
+        return HttpResponse.serverError("{\"message\":\"The analysis failed!\"}");
+      default:
+        return HttpResponse.<String>status(HttpStatus.ACCEPTED)
+            .body(job.toJSON().toString());
+    }
+  }
+}
@@ -8,16 +8,32 @@ import illumi.code.ddd.model.artifacts.Interface;
 import illumi.code.ddd.model.artifacts.Package;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+/**
+ * Analysed structure of a system module. The artifacts are added in one ordered pass, by the
+ * ContainmentService, the SnapshotReader or a refactoring, before the parallel analysis stages
+ * start. These stages only read the lists and change the artifacts themselves. The add methods
+ * are synchronized with the lazily built indexes, so an index is never built from a structure
+ * that is changed at the same time.
+ */
 @SuppressWarnings("CheckStyle")
 public class DDDStructure {
 
   private String path;
+  private FqnTable symbols;
 
   private ArrayList<Artifact> structure;
 
@@ -29,6 +45,24 @@ public class DDDStructure {
   private ArrayList<Enum> enums;
   private ArrayList<Annotation> annotations;
 
+  private HashSet<Class> classSet;
+  private HashMap<String, Class> classIndex;
+  private HashMap<String, Interface> interfaceIndex;
+  private HashMap<String, Annotation> annotationIndex;
+  private ConcurrentHashMap<String, Optional<Class>> missedClasses;
+  private ConcurrentHashMap<String, Optional<Interface>> partialInterfaces;
+  private ConcurrentHashMap<String, Optional<Annotation>> partialAnnotations;
+  private DependencyGraph dependencyGraph;
+  private AtomicLong nameVersion;
+  private AtomicLong typeVersion;
+  private NameIndex classNames;
+  private long classNamesVersion;
+  private NameIndex lowerClassNames;
+  private long lowerClassNamesVersion;
+  private TypeIndex typeIndex;
+  private long typeIndexVersion;
+  private List<Artifact> allArtifacts;
+
   public DDDStructure() {
     init();
   }
@@ -38,6 +72,7 @@ public class DDDStructure {
    */
   public void init() {
     this.path = "";
+    this.symbols = new FqnTable();
     this.structure = new ArrayList<>();
     this.domains = new ArrayList<>();
     this.packages = new ArrayList<>();
@@ -45,6 +80,20 @@ public class DDDStructure {
     this.interfaces = new ArrayList<>();
     this.enums = new ArrayList<>();
     this.annotations = new ArrayList<>();
+    this.classSet = new HashSet<>();
+    this.classIndex = new HashMap<>();
+    this.interfaceIndex = new HashMap<>();
+    this.annotationIndex = new HashMap<>();
+    this.missedClasses = new ConcurrentHashMap<>();
+    this.partialInterfaces = new ConcurrentHashMap<>();
+    this.partialAnnotations = new ConcurrentHashMap<>();
+    this.dependencyGraph = null;
+    this.nameVersion = new AtomicLong();
+    this.typeVersion = new AtomicLong();
+    this.classNames = null;
+    this.lowerClassNames = null;
+    this.typeIndex = null;
+    this.allArtifacts = null;
   }
 
   public String getPath() {
@@ -52,8 +101,11 @@ public class DDDStructure {
   }
 
   public void setPath(String path) {
-    String[] split = path.split("[.]");
-    this.path = split[split.length - 1] + ".";
+    this.path = symbols.intern(path).getSimpleName() + ".";
+  }
+
+  public FqnTable getSymbols() {
+    return symbols;
   }
 
   public List<Artifact> getStructure() {
@@ -73,7 +125,7 @@ public class DDDStructure {
    *
    * @param domain : new domain as String
    */
-  public void addDomain(String domain) {
+  public synchronized void addDomain(String domain) {
     if (!this.domains.contains(domain)) {
       this.domains.add(domain);
     }
@@ -83,8 +135,12 @@ public class DDDStructure {
     return packages;
   }
 
-  public void addPackage(Package module) {
+  public synchronized void addPackage(Package module) {
+    intern(module);
+    addVersions(module);
     this.packages.add(module);
+    this.typeIndex = null;
+    this.allArtifacts = null;
   }
 
   public List<Class> getClasses() {
@@ -96,52 +152,264 @@ public class DDDStructure {
    *
    * @param c : new class
    */
-  public void addClass(Class c) {
-    if (!this.classes.contains(c)) {
+  public synchronized void addClass(Class c) {
+    if (this.classSet.add(c)) {
+      intern(c);
+      addVersions(c);
+      c.addNameVersion(this.nameVersion);
       this.classes.add(c);
+      this.dependencyGraph = null;
+      this.classNames = null;
+      this.lowerClassNames = null;
+      this.typeIndex = null;
+      this.allArtifacts = null;
+      this.classIndex.putIfAbsent(c.getPath(), c);
+      this.missedClasses.clear();
+    }
+  }
+
+  /**
+   * Get the index of the class names, the id of a name is the index of the class in getClasses().
+   * It is rebuilt after a class is added or renamed.
+   *
+   * @return NameIndex
+   */
+  public synchronized NameIndex getClassNameIndex() {
+    long version = this.nameVersion.get();
+    if (this.classNames == null || this.classNamesVersion != version) {
+      this.classNames = new NameIndex(this.classes.stream()
+          .map(Artifact::getName)
+          .collect(Collectors.toList()));
+      this.classNamesVersion = version;
     }
+    return this.classNames;
+  }
+
+  /**
+   * Get the index of the lower case class names, the id of a name is the index of the class in
+   * getClasses(). It is rebuilt after a class is added or renamed.
+   *
+   * @return NameIndex
+   */
+  public synchronized NameIndex getLowerClassNameIndex() {
+    long version = this.nameVersion.get();
+    if (this.lowerClassNames == null || this.lowerClassNamesVersion != version) {
+      this.lowerClassNames = new NameIndex(this.classes.stream()
+          .map(Artifact::getLowerName)
+          .collect(Collectors.toList()));
+      this.lowerClassNamesVersion = version;
+    }
+    return this.lowerClassNames;
+  }
+
+  /**
+   * Find the class with the fully qualified name.
+   *
+   * @param path : fully qualified name
+   * @return class or null
+   */
+  public Class findClass(String path) {
+    return find(this.classIndex, this.missedClasses, this.classes, path, false);
   }
 
   public List<Interface> getInterfaces() {
     return interfaces;
   }
 
-  public void addInterface(Interface i) {
+  /**
+   * Add new interface to the structure.
+   *
+   * @param i : new interface
+   */
+  public synchronized void addInterface(Interface i) {
+    intern(i);
+    addVersions(i);
     this.interfaces.add(i);
+    this.dependencyGraph = null;
+    this.typeIndex = null;
+    this.allArtifacts = null;
+    this.interfaceIndex.putIfAbsent(i.getPath(), i);
+    this.partialInterfaces.clear();
+  }
+
+  /**
+   * Find the interface with the fully qualified name. Falls back to the first interface
+   * whose path contains the name.
+   *
+   * @param path : fully qualified name
+   * @return interface or null
+   */
+  public Interface findInterface(String path) {
+    return find(this.interfaceIndex, this.partialInterfaces, this.interfaces, path, true);
   }
 
   public List<Enum> getEnums() {
     return enums;
   }
 
-  public void addEnum(Enum e) {
+  public synchronized void addEnum(Enum e) {
+    intern(e);
+    addVersions(e);
     this.enums.add(e);
+    this.dependencyGraph = null;
+    this.typeIndex = null;
+    this.allArtifacts = null;
   }
 
   public List<Annotation> getAnnotations() {
     return annotations;
   }
 
-  public void addAnnotation(Annotation a) {
+  /**
+   * Add new annotation to the structure.
+   *
+   * @param a : new annotation
+   */
+  public synchronized void addAnnotation(Annotation a) {
+    intern(a);
+    addVersions(a);
     this.annotations.add(a);
+    this.dependencyGraph = null;
+    this.typeIndex = null;
+    this.allArtifacts = null;
+    this.annotationIndex.putIfAbsent(a.getPath(), a);
+    this.partialAnnotations.clear();
+  }
+
+  /**
+   * Find the annotation with the fully qualified name. Falls back to the first annotation
+   * whose path contains the name.
+   *
+   * @param path : fully qualified name
+   * @return annotation or null
+   */
+  public Annotation findAnnotation(String path) {
+    return find(this.annotationIndex, this.partialAnnotations, this.annotations, path, true);
+  }
+
+  private void addVersions(Artifact artifact) {
+    artifact.addNameVersion(this.typeVersion);
+    artifact.addTypeVersion(this.typeVersion);
+  }
+
+  private void intern(Artifact artifact) {
+    if (artifact.getFqn() != null) {
+      artifact.setFqn(symbols.intern(artifact.getPath()));
+    }
+  }
+
+  // Exact matches are resolved by the index. Names without a match in the index (external
+  // types, renamed artifacts or partial names) are scanned once; the result is cached until
+  // the next artifact is added.
+  private static <T extends Artifact> T find(Map<String, T> index,
+                                             Map<String, Optional<T>> missed,
+                                             List<T> artifacts, String path, boolean partial) {
+    T artifact = index.get(path);
+    if (artifact != null && artifact.getPath().equals(path)) {
+      return artifact;
+    }
+    return missed.computeIfAbsent(path, key -> artifacts.stream()
+        .filter(item -> partial ? item.getPath().contains(key) : item.getPath().equals(key))
+        .findFirst())
+        .orElse(null);
   }
 
   /**
-   * Get a list of all artifacts of the structure.
+   * Get the dependency graph of the classes, interfaces, enums and annotations. It is built on
+   * first access after the dependencies are loaded and rebuilt after an artifact is added or
+   * the dependencies are reset.
    *
-   * @return list of Artifacts
+   * @return DependencyGraph
    */
-  public List<Artifact> getAllArtifacts() {
-    ArrayList<Artifact> all = new ArrayList<>();
+  public synchronized DependencyGraph getDependencyGraph() {
+    if (this.dependencyGraph == null) {
+      ArrayList<Artifact> files = new ArrayList<>();
+      files.addAll(this.classes);
+      files.addAll(this.interfaces);
+      files.addAll(this.enums);
+      files.addAll(this.annotations);
+      this.dependencyGraph = new DependencyGraph(files);
+    }
+    return this.dependencyGraph;
+  }
 
-    all.addAll(this.packages);
-    all.addAll(this.classes);
-    all.addAll(this.interfaces);
-    all.addAll(this.enums);
-    all.addAll(this.annotations);
+  /**
+   * Rebuild the dependency graph on next access, e.g. after dependencies were changed.
+   */
+  public synchronized void resetDependencyGraph() {
+    this.dependencyGraph = null;
+  }
 
-    all.sort(Comparator.comparingDouble(Artifact::getFitness));
-    return all;
+  /**
+   * Get the index of the artifacts by DDDType. It is built on first access and rebuilt after an
+   * artifact is added or the name or type of one of its artifacts has changed.
+   *
+   * @return TypeIndex
+   */
+  public synchronized TypeIndex getTypeIndex() {
+    long version = this.typeVersion.get();
+    if (this.typeIndex == null || this.typeIndexVersion != version) {
+      ArrayList<Artifact> all = new ArrayList<>();
+      all.addAll(this.packages);
+      all.addAll(this.classes);
+      all.addAll(this.interfaces);
+      all.addAll(this.enums);
+      all.addAll(this.annotations);
+      this.typeIndex = new TypeIndex(all);
+      this.typeIndexVersion = version;
+    }
+    return this.typeIndex;
+  }
+
+  /**
+   * Get a list of all artifacts of the structure, sorted by fitness. The list is built on first
+   * access and rebuilt after an artifact is added or the list is reset.
+   *
+   * @return unmodifiable list of Artifacts
+   */
+  public synchronized List<Artifact> getAllArtifacts() {
+    if (this.allArtifacts == null) {
+      ArrayList<Artifact> all = new ArrayList<>();
+
+      all.addAll(this.packages);
+      all.addAll(this.classes);
+      all.addAll(this.interfaces);
+      all.addAll(this.enums);
+      all.addAll(this.annotations);
+
+      all.sort(Comparator.comparingDouble(Artifact::getFitness));
+      this.allArtifacts = Collections.unmodifiableList(all);
+    }
+    return this.allArtifacts;
+  }
+
+  /**
+   * Sort the list of all artifacts again on next access, e.g. after the fitness was evaluated.
+   */
+  public synchronized void resetAllArtifacts() {
+    this.allArtifacts = null;
+  }
+
+  /**
+   * Create a deep copy of the structure, e.g. to refactor it while the structure itself is
+   * still used by other sessions. The copy shares no artifacts, fields, methods or fitness
+   * with this structure.
+   *
+   * @return copy of the structure
+   */
+  public synchronized DDDStructure copy() {
+    StructureCopy artifacts = new StructureCopy();
+    DDDStructure copy = new DDDStructure();
+    copy.path = this.path;
+    copy.symbols = this.symbols;
+    copy.domains.addAll(this.domains);
+    this.packages.forEach(module -> copy.addPackage(artifacts.copy(module)));
+    this.classes.forEach(c -> copy.addClass(artifacts.copy(c)));
+    this.interfaces.forEach(i -> copy.addInterface(artifacts.copy(i)));
+    this.enums.forEach(e -> copy.addEnum(artifacts.copy(e)));
+    this.annotations.forEach(a -> copy.addAnnotation(artifacts.copy(a)));
+    copy.setStructure(artifacts.copyAll(this.structure));
+    return copy;
   }
 
   public JSONArray getJSON() {
@@ -0,0 +1,104 @@
+package illumi.code.ddd.model;
+
+import illumi.code.ddd.model.artifacts.Artifact;
+import illumi.code.ddd.model.artifacts.Package;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+import org.json.JSONWriter;
+
+/**
+ * Streaming counterpart of DDDStructure.getJSON(). Walks the contained artifacts depth first
+ * and writes the JSON in chunks, so only one chunk is held in memory instead of the whole
+ * JSON tree and its string.
+ */
+public class DDDStructureWriter {
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  private final DDDStructure structure;
+  private final StringBuilder buffer;
+  private final JSONWriter writer;
+  private final Deque<Iterator<Artifact>> stack;
+
+  private boolean started;
+
+  /**
+   * Constructor of DDDStructureWriter.
+   *
+   * @param structure : structure to write
+   */
+  public DDDStructureWriter(DDDStructure structure) {
+    this.structure = structure;
+    this.buffer = new StringBuilder(CHUNK_SIZE + 1024);
+    this.writer = new JSONWriter(buffer);
+    this.stack = new ArrayDeque<>();
+  }
+
+  /**
+   * Write the whole structure.
+   *
+   * @param out : writer to write to
+   * @throws IOException if the writer fails
+   */
+  public void write(Writer out) throws IOException {
+    String chunk = nextChunk();
+    while (chunk != null) {
+      out.write(chunk);
+      chunk = nextChunk();
+    }
+    out.flush();
+  }
+
+  /**
+   * Write the next artifacts until the chunk is full.
+   *
+   * @return next chunk, null if the whole structure is written
+   */
+  public String nextChunk() {
+    if (started && stack.isEmpty()) {
+      return null;
+    }
+    boolean next = true;
+    while (next && buffer.length() < CHUNK_SIZE) {
+      next = writeNext();
+    }
+    String chunk = buffer.toString();
+    buffer.setLength(0);
+    return chunk;
+  }
+
+  private boolean writeNext() {
+    if (!started) {
+      started = true;
+      writer.array();
+      stack.push(structure.getStructure().iterator());
+      return true;
+    }
+
+    Iterator<Artifact> artifacts = stack.peek();
+    if (artifacts.hasNext()) {
+      Artifact artifact = artifacts.next();
+      writer.object();
+      artifact.writeJSON(writer);
+      if (artifact instanceof Package) {
+        writer.key("contains").array();
+        stack.push(((Package) artifact).getContains().iterator());
+      } else {
+        writer.endObject();
+      }
+      return true;
+    }
+
+    stack.pop();
+    writer.endArray();
+    if (stack.isEmpty()) {
+      return false;
+    }
+    writer.endObject();
+    return true;
+  }
+}
@@ -0,0 +1,228 @@
+package illumi.code.ddd.model;
+
+import illumi.code.ddd.model.artifacts.Artifact;
+import illumi.code.ddd.model.artifacts.Class;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Dependencies between the classes, interfaces, enums and annotations of a structure. Every
+ * artifact gets an int id; the dependencies and the dependents of an artifact are stored as
+ * compressed sparse rows, i.e. one offset array and one array of ids per direction.
+ * Dependencies to types outside of the structure are not part of the graph. The rows keep the
+ * order of Class.getDependencies(). The sub classes of an artifact are stored the same way, so
+ * the users of an artifact (dependents and sub classes) are found without scanning all classes.
+ */
+public class DependencyGraph {
+
+  private final Artifact[] artifacts;
+  private final IdentityHashMap<Artifact, Integer> ids;
+  private final HashMap<String, Integer> pathIds;
+
+  private final int[] dependencyOffsets;
+  private final int[] dependencies;
+  private final int[] dependentOffsets;
+  private final int[] dependents;
+  private final int[] subClassOffsets;
+  private final int[] subClasses;
+
+  /**
+   * Build the graph of the artifacts.
+   *
+   * @param artifacts : classes, interfaces, enums and annotations of the structure
+   */
+  public DependencyGraph(List<? extends Artifact> artifacts) {
+    int size = artifacts.size();
+    this.artifacts = artifacts.toArray(new Artifact[0]);
+    this.ids = new IdentityHashMap<>(size);
+    this.pathIds = new HashMap<>(size * 2);
+    for (int id = 0; id < size; id++) {
+      ids.put(this.artifacts[id], id);
+      pathIds.putIfAbsent(this.artifacts[id].getPath(), id);
+    }
+
+    this.dependencyOffsets = new int[size + 1];
+    int[] edges = new int[size];
+    int[] seen = new int[size];
+    int count = 0;
+    for (int id = 0; id < size; id++) {
+      if (this.artifacts[id] instanceof Class) {
+        for (String path : ((Class) this.artifacts[id]).getDependencies()) {
+          Integer target = pathIds.get(path);
+          if (target != null && seen[target] != id + 1) {
+            seen[target] = id + 1;
+            if (count == edges.length) {
+              edges = Arrays.copyOf(edges, edges.length * 2 + 1);
+            }
+            edges[count++] = target;
+          }
+        }
+      }
+      dependencyOffsets[id + 1] = count;
+    }
+    this.dependencies = Arrays.copyOf(edges, count);
+
+    this.dependentOffsets = new int[size + 1];
+    this.dependents = new int[count];
+    reverse(dependencyOffsets, dependencies, dependentOffsets, dependents);
+
+    int[] superClassOffsets = new int[size + 1];
+    int[] superClasses = new int[size];
+    count = 0;
+    for (int id = 0; id < size; id++) {
+      if (this.artifacts[id] instanceof Class) {
+        Integer superClass = ids.get(((Class) this.artifacts[id]).getSuperClass());
+        if (superClass != null) {
+          superClasses[count++] = superClass;
+        }
+      }
+      superClassOffsets[id + 1] = count;
+    }
+    this.subClassOffsets = new int[size + 1];
+    this.subClasses = new int[count];
+    reverse(superClassOffsets, superClasses, subClassOffsets, subClasses);
+  }
+
+  private static void reverse(int[] offsets, int[] edges, int[] reverseOffsets,
+                              int[] reverseEdges) {
+    int size = offsets.length - 1;
+    for (int edge = 0; edge < offsets[size]; edge++) {
+      reverseOffsets[edges[edge] + 1]++;
+    }
+    for (int id = 0; id < size; id++) {
+      reverseOffsets[id + 1] += reverseOffsets[id];
+    }
+    int[] next = Arrays.copyOf(reverseOffsets, size);
+    for (int id = 0; id < size; id++) {
+      for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+        reverseEdges[next[edges[edge]]++] = id;
+      }
+    }
+  }
+
+  public int size() {
+    return artifacts.length;
+  }
+
+  public int countEdges() {
+    return dependencies.length;
+  }
+
+  /**
+   * Get the id of an artifact of the structure.
+   *
+   * @param artifact : artifact
+   * @return id, -1 if the artifact is not part of the graph
+   */
+  public int getId(Artifact artifact) {
+    Integer id = ids.get(artifact);
+    return id != null ? id : -1;
+  }
+
+  /**
+   * Get the id of the artifact with the fully qualified name it had when the graph was built.
+   *
+   * @param path : fully qualified name
+   * @return id, -1 if no artifact of the graph has the name
+   */
+  public int getId(String path) {
+    Integer id = pathIds.get(path);
+    return id != null ? id : -1;
+  }
+
+  public Artifact getArtifact(int id) {
+    return artifacts[id];
+  }
+
+  public int countDependencies(int id) {
+    return dependencyOffsets[id + 1] - dependencyOffsets[id];
+  }
+
+  public int countDependents(int id) {
+    return dependentOffsets[id + 1] - dependentOffsets[id];
+  }
+
+  public int[] getDependencies(int id) {
+    return Arrays.copyOfRange(dependencies, dependencyOffsets[id], dependencyOffsets[id + 1]);
+  }
+
+  public int[] getDependents(int id) {
+    return Arrays.copyOfRange(dependents, dependentOffsets[id], dependentOffsets[id + 1]);
+  }
+
+  /**
+   * Call the consumer with the id of every dependency of an artifact.
+   *
+   * @param id       : id of the artifact
+   * @param consumer : called with the ids of the dependencies
+   */
+  public void forEachDependency(int id, IntConsumer consumer) {
+    for (int edge = dependencyOffsets[id]; edge < dependencyOffsets[id + 1]; edge++) {
+      consumer.accept(dependencies[edge]);
+    }
+  }
+
+  /**
+   * Call the consumer with the id of every artifact depending on an artifact.
+   *
+   * @param id       : id of the artifact
+   * @param consumer : called with the ids of the dependents
+   */
+  public void forEachDependent(int id, IntConsumer consumer) {
+    for (int edge = dependentOffsets[id]; edge < dependentOffsets[id + 1]; edge++) {
+      consumer.accept(dependents[edge]);
+    }
+  }
+
+  /**
+   * Call the consumer with the id of every class extending an artifact.
+   *
+   * @param id       : id of the artifact
+   * @param consumer : called with the ids of the sub classes
+   */
+  public void forEachSubClass(int id, IntConsumer consumer) {
+    for (int edge = subClassOffsets[id]; edge < subClassOffsets[id + 1]; edge++) {
+      consumer.accept(subClasses[edge]);
+    }
+  }
+
+  /**
+   * Call the consumer with the id of every artifact using an artifact, i.e. depending on it or
+   * extending it. An artifact doing both is passed twice.
+   *
+   * @param id       : id of the artifact
+   * @param consumer : called with the ids of the users
+   */
+  public void forEachUser(int id, IntConsumer consumer) {
+    forEachDependent(id, consumer);
+    forEachSubClass(id, consumer);
+  }
+
+  /**
+   * Check if an artifact depends on another one.
+   *
+   * @param from : id of the depending artifact
+   * @param to   : id of the dependency
+   * @return true if the dependency exists
+   */
+  public boolean dependsOn(int from, int to) {
+    if (countDependencies(from) > countDependents(to)) {
+      for (int edge = dependentOffsets[to]; edge < dependentOffsets[to + 1]; edge++) {
+        if (dependents[edge] == from) {
+          return true;
+        }
+      }
+      return false;
+    }
+    for (int edge = dependencyOffsets[from]; edge < dependencyOffsets[from + 1]; edge++) {
+      if (dependencies[edge] == to) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
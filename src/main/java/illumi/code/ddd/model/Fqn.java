@@ -0,0 +1,86 @@
+package illumi.code.ddd.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fully qualified name with its segments, simple name and lower case simple name computed once.
+ * Instances are shared through the FqnTable of a structure.
+ */
+public final class Fqn {
+
+  private final String value;
+  private final String[] segments;
+  private final String simpleName;
+  private final String lowerName;
+
+  private Fqn(String value) {
+    this.value = value;
+    this.segments = split(value);
+    this.simpleName = segments[segments.length - 1];
+    this.lowerName = simpleName.toLowerCase();
+  }
+
+  /**
+   * Create a fully qualified name, prefer FqnTable.intern to share it.
+   *
+   * @param value : fully qualified name
+   * @return Fqn, null if the value is null
+   */
+  public static Fqn of(String value) {
+    return value != null ? new Fqn(value) : null;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  public int size() {
+    return segments.length;
+  }
+
+  public String getSegment(int index) {
+    return segments[index];
+  }
+
+  public String getSimpleName() {
+    return simpleName;
+  }
+
+  public String getLowerName() {
+    return lowerName;
+  }
+
+  // Same segments as value.split("[.]"): empty segments are kept except trailing ones.
+  private static String[] split(String value) {
+    List<String> segments = new ArrayList<>();
+    int start = 0;
+    int end = value.indexOf('.');
+    while (end >= 0) {
+      segments.add(value.substring(start, end));
+      start = end + 1;
+      end = value.indexOf('.', start);
+    }
+    segments.add(value.substring(start));
+    int size = segments.size();
+    while (size > 1 && segments.get(size - 1).isEmpty()) {
+      segments.remove(--size);
+    }
+    return segments.toArray(new String[0]);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return this == other || other instanceof Fqn && value.equals(((Fqn) other).value);
+  }
+
+  @Override
+  public int hashCode() {
+    return value.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return value;
+  }
+}
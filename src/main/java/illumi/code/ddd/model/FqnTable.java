@@ -0,0 +1,45 @@
+package illumi.code.ddd.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Symbol table of the fully qualified names of one analysis. Each name is stored once, so the
+ * artifacts, fields and dependencies referring to the same type share one string and one Fqn.
+ */
+public class FqnTable {
+
+  private final ConcurrentHashMap<String, Fqn> symbols;
+
+  public FqnTable() {
+    this.symbols = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Get the shared Fqn of a fully qualified name.
+   *
+   * @param value : fully qualified name
+   * @return Fqn, null if the value is null
+   */
+  public Fqn intern(String value) {
+    if (value == null) {
+      return null;
+    }
+    Fqn fqn = symbols.get(value);
+    return fqn != null ? fqn : symbols.computeIfAbsent(value, Fqn::of);
+  }
+
+  /**
+   * Get the shared string of a fully qualified name.
+   *
+   * @param value : fully qualified name
+   * @return shared string, null if the value is null
+   */
+  public String internValue(String value) {
+    Fqn fqn = intern(value);
+    return fqn != null ? fqn.getValue() : null;
+  }
+
+  public int size() {
+    return symbols.size();
+  }
+}
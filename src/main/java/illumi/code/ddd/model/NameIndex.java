@@ -0,0 +1,177 @@
+package illumi.code.ddd.model;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton over a list of names. It finds all names occurring inside a text in
+ * one pass over the text, instead of calling String.contains for every name.
+ * The id of a name is its index in the list.
+ */
+public class NameIndex {
+
+  private static final int ROOT = 0;
+
+  private final int size;
+  private final BitSet emptyNames;
+
+  private char[][] keys;
+  private int[][] children;
+  private int[] fail;
+  private int[] output;
+  private int[][] names;
+  private int nodes;
+
+  /**
+   * Build the automaton.
+   *
+   * @param names : names to find, null names are ignored
+   */
+  public NameIndex(List<String> names) {
+    this.size = names.size();
+    this.emptyNames = new BitSet();
+    this.keys = new char[16][];
+    this.children = new int[16][];
+    this.names = new int[16][];
+    this.nodes = 0;
+    newNode();
+
+    for (int id = 0; id < size; id++) {
+      String name = names.get(id);
+      if (name == null) {
+        continue;
+      }
+      if (name.isEmpty()) {
+        emptyNames.set(id);
+      }
+      int node = ROOT;
+      for (int i = 0; i < name.length(); i++) {
+        node = addChild(node, name.charAt(i));
+      }
+      this.names[node] = append(this.names[node], id);
+    }
+    buildLinks();
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Find the names occurring inside a text.
+   *
+   * @param text : text to search in
+   * @return ids of the found names
+   */
+  public BitSet match(String text) {
+    BitSet found = (BitSet) emptyNames.clone();
+    int node = ROOT;
+    for (int i = 0; i < text.length(); i++) {
+      node = next(node, text.charAt(i));
+      for (int match = names[node].length > 0 ? node : output[node]; match != ROOT;
+           match = output[match]) {
+        for (int id : names[match]) {
+          found.set(id);
+        }
+      }
+    }
+    return found;
+  }
+
+  private int next(int node, char c) {
+    int current = node;
+    while (true) {
+      int child = getChild(current, c);
+      if (child >= 0) {
+        return child;
+      }
+      if (current == ROOT) {
+        return ROOT;
+      }
+      current = fail[current];
+    }
+  }
+
+  private int getChild(int node, char c) {
+    int index = Arrays.binarySearch(keys[node], c);
+    return index >= 0 ? children[node][index] : -1;
+  }
+
+  private int addChild(int node, char c) {
+    int index = Arrays.binarySearch(keys[node], c);
+    if (index >= 0) {
+      return children[node][index];
+    }
+    int child = newNode();
+    int position = -index - 1;
+    keys[node] = insert(keys[node], position, c);
+    children[node] = insert(children[node], position, child);
+    return child;
+  }
+
+  private int newNode() {
+    if (nodes == keys.length) {
+      keys = Arrays.copyOf(keys, nodes * 2);
+      children = Arrays.copyOf(children, nodes * 2);
+      names = Arrays.copyOf(names, nodes * 2);
+    }
+    keys[nodes] = new char[0];
+    children[nodes] = new int[0];
+    names[nodes] = new int[0];
+    return nodes++;
+  }
+
+  // Breadth first, so the failure link of a node points to an already linked node.
+  // The output link points to the next node on the failure chain that ends a name.
+  private void buildLinks() {
+    keys = Arrays.copyOf(keys, nodes);
+    children = Arrays.copyOf(children, nodes);
+    names = Arrays.copyOf(names, nodes);
+    fail = new int[nodes];
+    output = new int[nodes];
+
+    ArrayDeque<Integer> queue = new ArrayDeque<>();
+    for (int child : children[ROOT]) {
+      queue.add(child);
+    }
+    while (!queue.isEmpty()) {
+      int node = queue.poll();
+      for (int i = 0; i < keys[node].length; i++) {
+        int child = children[node][i];
+        int link = fail[node];
+        int target = getChild(link, keys[node][i]);
+        while (target < 0 && link != ROOT) {
+          link = fail[link];
+          target = getChild(link, keys[node][i]);
+        }
+        fail[child] = target >= 0 ? target : ROOT;
+        output[child] = names[fail[child]].length > 0 ? fail[child] : output[fail[child]];
+        queue.add(child);
+      }
+    }
+  }
+
+  private static char[] insert(char[] array, int position, char value) {
+    char[] result = new char[array.length + 1];
+    System.arraycopy(array, 0, result, 0, position);
+    result[position] = value;
+    System.arraycopy(array, position, result, position + 1, array.length - position);
+    return result;
+  }
+
+  private static int[] insert(int[] array, int position, int value) {
+    int[] result = new int[array.length + 1];
+    System.arraycopy(array, 0, result, 0, position);
+    result[position] = value;
+    System.arraycopy(array, position, result, position + 1, array.length - position);
+    return result;
+  }
+
+  private static int[] append(int[] array, int value) {
+    int[] result = Arrays.copyOf(array, array.length + 1);
+    result[array.length] = value;
+    return result;
+  }
+}
@@ -0,0 +1,119 @@
+package illumi.code.ddd.model;
+
+import illumi.code.ddd.model.artifacts.Annotation;
+import illumi.code.ddd.model.artifacts.Artifact;
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.Enum;
+import illumi.code.ddd.model.artifacts.Field;
+import illumi.code.ddd.model.artifacts.File;
+import illumi.code.ddd.model.artifacts.Interface;
+import illumi.code.ddd.model.artifacts.Method;
+import illumi.code.ddd.model.artifacts.Package;
+import illumi.code.ddd.model.fitness.DDDFitness;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copies the artifacts of a structure. Every artifact is copied once, so references between the
+ * artifacts (contained artifacts, super classes, interfaces and annotations) point to the copies.
+ * Fields, methods and fitness are copied as well, so changing the copy leaves the original
+ * structure unchanged.
+ */
+class StructureCopy {
+
+  private final Map<Artifact, Artifact> copies = new IdentityHashMap<>();
+
+  /**
+   * Get the copy of an artifact, it is created on first access.
+   *
+   * @param artifact : artifact of the original structure
+   * @return copy of the artifact
+   */
+  @SuppressWarnings("unchecked")
+  <T extends Artifact> T copy(T artifact) {
+    if (artifact == null) {
+      return null;
+    }
+    Artifact copy = copies.get(artifact);
+    if (copy == null) {
+      copy = create(artifact);
+      copies.put(artifact, copy);
+      copyContent(artifact, copy);
+    }
+    return (T) copy;
+  }
+
+  /**
+   * Get the copies of a list of artifacts.
+   *
+   * @param artifacts : artifacts of the original structure
+   * @return new list with the copies, in the same order
+   */
+  <T extends Artifact> ArrayList<T> copyAll(List<T> artifacts) {
+    ArrayList<T> result = new ArrayList<>(artifacts.size());
+    for (T artifact : artifacts) {
+      result.add(copy(artifact));
+    }
+    return result;
+  }
+
+  private static Artifact create(Artifact artifact) {
+    Artifact copy;
+    if (artifact instanceof Package) {
+      copy = new Package(artifact.getName(), artifact.getPath());
+    } else if (artifact instanceof Class) {
+      copy = new Class(artifact.getName(), artifact.getPath());
+    } else if (artifact instanceof Interface) {
+      copy = new Interface(artifact.getName(), artifact.getPath());
+    } else if (artifact instanceof Enum) {
+      copy = new Enum(artifact.getName(), artifact.getPath());
+    } else if (artifact instanceof Annotation) {
+      copy = new Annotation(artifact.getName(), artifact.getPath());
+    } else {
+      throw new IllegalArgumentException("Unknown artifact: " + artifact.getPath());
+    }
+    copy.setFqn(artifact.getFqn());
+    copy.setDomain(artifact.getDomain());
+    copy.setType(artifact.getType());
+    copy.setFitness(new DDDFitness(artifact.getDDDFitness()));
+    return copy;
+  }
+
+  private void copyContent(Artifact artifact, Artifact copy) {
+    if (artifact instanceof Package) {
+      ((Package) copy).setContains(copyAll(((Package) artifact).getContains()));
+    }
+    if (artifact instanceof File) {
+      copyFile((File) artifact, (File) copy);
+    }
+    if (artifact instanceof Class) {
+      copyClass((Class) artifact, (Class) copy);
+    }
+  }
+
+  private void copyFile(File artifact, File copy) {
+    for (Field field : artifact.getFields()) {
+      copy.addField(new Field(field.getVisibility(), field.getName(), field.getTypeFqn()));
+    }
+    for (Method method : artifact.getMethods()) {
+      copy.addMethod(new Method(method));
+    }
+    for (Annotation annotation : artifact.getAnnotations()) {
+      copy.addAnnotation(copy(annotation));
+    }
+    for (Interface implInterface : artifact.getImplInterfaces()) {
+      copy.addImplInterface(copy(implInterface));
+    }
+  }
+
+  private void copyClass(Class artifact, Class copy) {
+    copy.setSuperClass(copy(artifact.getSuperClass()));
+    copy.getDependencies().addAll(artifact.getDependencies());
+    for (String used : artifact.getUsed()) {
+      copy.addUsed(used);
+    }
+  }
+}
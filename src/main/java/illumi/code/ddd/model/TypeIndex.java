@@ -0,0 +1,71 @@
+package illumi.code.ddd.model;
+
+import illumi.code.ddd.model.artifacts.Artifact;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Artifacts of a structure grouped by their DDDType, with the lower case names of every group,
+ * so artifacts of one type are looked up without scanning the whole structure.
+ * The index is a snapshot: it does not follow later changes of types or names.
+ */
+public class TypeIndex {
+
+  private final EnumMap<DDDType, List<Artifact>> artifacts;
+  private final EnumMap<DDDType, String[]> lowerNames;
+
+  /**
+   * Build the index.
+   *
+   * @param artifacts : artifacts of the structure
+   */
+  public TypeIndex(List<? extends Artifact> artifacts) {
+    this.artifacts = new EnumMap<>(DDDType.class);
+    for (Artifact artifact : artifacts) {
+      if (artifact.getType() != null) {
+        this.artifacts.computeIfAbsent(artifact.getType(), type -> new ArrayList<>())
+            .add(artifact);
+      }
+    }
+    this.lowerNames = new EnumMap<>(DDDType.class);
+    for (Map.Entry<DDDType, List<Artifact>> entry : this.artifacts.entrySet()) {
+      this.lowerNames.put(entry.getKey(), entry.getValue().stream()
+          .map(Artifact::getLowerName)
+          .toArray(String[]::new));
+    }
+  }
+
+  /**
+   * Get the artifacts of a type.
+   *
+   * @param type : DDDType
+   * @return unmodifiable list of artifacts, in the order of the structure
+   */
+  public List<Artifact> get(DDDType type) {
+    List<Artifact> result = artifacts.get(type);
+    return result != null ? Collections.unmodifiableList(result) : Collections.emptyList();
+  }
+
+  /**
+   * Find the first artifact of a type whose lower case name contains a text.
+   *
+   * @param type      : DDDType
+   * @param lowerName : lower case text to find in the names
+   * @return artifact or null
+   */
+  public Artifact findNameContaining(DDDType type, String lowerName) {
+    String[] names = lowerNames.get(type);
+    if (names != null) {
+      for (int i = 0; i < names.length; i++) {
+        if (names[i].contains(lowerName)) {
+          return artifacts.get(type).get(i);
+        }
+      }
+    }
+    return null;
+  }
+}
@@ -1,16 +1,26 @@
 package illumi.code.ddd.model.artifacts;
 
 import illumi.code.ddd.model.DDDType;
+import illumi.code.ddd.model.Fqn;
 import illumi.code.ddd.model.fitness.DDDFitness;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.json.JSONObject;
+import org.json.JSONWriter;
 import org.neo4j.driver.v1.Record;
 
 @SuppressWarnings("checkstyle:AbbreviationAsWordInName")
 public abstract class Artifact {
 
+  private static final AtomicLong[] NO_VERSIONS = new AtomicLong[0];
+
   private String name;
-  private String path;
+  private Fqn path;
+
+  private volatile AtomicLong[] nameVersions = NO_VERSIONS;
+  private volatile AtomicLong[] typeVersions = NO_VERSIONS;
 
 
   private String domain;
@@ -30,7 +40,7 @@ public abstract class Artifact {
    */
   public Artifact(String name, String path, DDDType type) {
     this.name = name;
-    this.path = path;
+    this.path = Fqn.of(path);
     this.type = type;
     this.fitness = new DDDFitness();
   }
@@ -45,13 +55,59 @@ public abstract class Artifact {
 
   public void setName(String name) {
     this.name = name;
+    increment(nameVersions);
+  }
+
+  /**
+   * Register the version of an index over the names, e.g. of a structure or package containing
+   * the artifact. The version is incremented when the name changes.
+   *
+   * @param version : version of the index
+   */
+  public synchronized void addNameVersion(AtomicLong version) {
+    nameVersions = add(nameVersions, version);
+  }
+
+  /**
+   * Register the version of an index over the types, e.g. of a structure containing the
+   * artifact. The version is incremented when the type changes.
+   *
+   * @param version : version of the index
+   */
+  public synchronized void addTypeVersion(AtomicLong version) {
+    typeVersions = add(typeVersions, version);
+  }
+
+  private static AtomicLong[] add(AtomicLong[] versions, AtomicLong version) {
+    for (AtomicLong item : versions) {
+      if (item == version) {
+        return versions;
+      }
+    }
+    AtomicLong[] result = Arrays.copyOf(versions, versions.length + 1);
+    result[versions.length] = version;
+    return result;
+  }
+
+  private static void increment(AtomicLong[] versions) {
+    for (AtomicLong version : versions) {
+      version.incrementAndGet();
+    }
   }
 
   public String getPath() {
-    return this.path;
+    return this.path != null ? this.path.getValue() : null;
   }
 
   public void setPath(String path) {
+    this.path = Fqn.of(path);
+  }
+
+  public Fqn getFqn() {
+    return this.path;
+  }
+
+  public void setFqn(Fqn path) {
     this.path = path;
   }
 
@@ -73,6 +129,7 @@ public abstract class Artifact {
 
   public void setType(DDDType type) {
     this.type = type;
+    increment(typeVersions);
   }
 
   public void setFitness(DDDFitness fitness) {
@@ -100,6 +157,26 @@ public abstract class Artifact {
         .put("fitness", getFitness());
   }
 
+  /**
+   * Writes the keys of the artifact to an open JSON object, the streaming counterpart of toJSON.
+   * @param writer : writer of the JSON object
+   */
+  public void writeJSON(JSONWriter writer) {
+    writer.key("name").value(name);
+    if (type != null) {
+      writer.key("DDD").value(type);
+    }
+    writer.key("fitness").value(getFitness());
+  }
+
+  static void writeJSON(JSONWriter writer, String key, Iterable<String> values) {
+    writer.key(key).array();
+    for (String value : values) {
+      writer.value(value);
+    }
+    writer.endArray();
+  }
+
   /**
    * Generates a summary of the DDDFitness.
    * @return JSONObject
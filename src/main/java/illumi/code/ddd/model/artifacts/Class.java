@@ -8,8 +8,10 @@ import illumi.code.ddd.service.fitness.impl.ClassFitnessService;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.json.JSONObject;
+import org.json.JSONWriter;
 import org.neo4j.driver.v1.Driver;
 import org.neo4j.driver.v1.Record;
 
@@ -20,6 +22,8 @@ public class Class extends File {
   private ArrayList<String> dependencies;
   private ArrayList<String> used;
 
+  private volatile Supplier<List<String>> dependencySource;
+
   public Class(Record record) {
     super(record, null);
     initClass();
@@ -68,6 +72,9 @@ public class Class extends File {
   }
 
   public List<String> getDependencies() {
+    if (dependencySource != null) {
+      loadDependencies();
+    }
     return dependencies;
   }
 
@@ -78,9 +85,45 @@ public class Class extends File {
    * @param path   : fully qualified name of the module
    */
   public void setDependencies(Driver driver, String path) {
+    this.dependencySource = null;
     this.dependencies = (ArrayList<String>) new JavaArtifactService(driver, getPath())
         .getDependencies(path);
 
+    removeInheritedDependencies();
+  }
+
+  /**
+   * Set already read dependencies of this class.
+   *
+   * @param dependencies : fully qualified names of the dependencies
+   */
+  public void setDependencies(List<String> dependencies) {
+    this.dependencySource = null;
+    this.dependencies = new ArrayList<>(dependencies);
+
+    removeInheritedDependencies();
+  }
+
+  /**
+   * Set the source the dependencies are decoded from on first access. Inherited dependencies
+   * are removed after decoding.
+   *
+   * @param dependencySource : source of the fully qualified names of the dependencies
+   */
+  public void setDependencySource(Supplier<List<String>> dependencySource) {
+    this.dependencies = new ArrayList<>();
+    this.dependencySource = dependencySource;
+  }
+
+  private synchronized void loadDependencies() {
+    if (dependencySource != null) {
+      this.dependencies.addAll(dependencySource.get());
+      this.dependencySource = null;
+      removeInheritedDependencies();
+    }
+  }
+
+  private void removeInheritedDependencies() {
     if (superClass != null) {
       this.dependencies.remove(superClass.getPath());
     }
@@ -91,7 +134,7 @@ public class Class extends File {
   }
 
   public void addDependencies(String path) {
-    this.dependencies.add(path);
+    getDependencies().add(path);
   }
 
   public List<String> getUsed() {
@@ -126,10 +169,23 @@ public class Class extends File {
       result.put("extends", superClass.getPath());
     }
 
-    if (!dependencies.isEmpty()) {
-      result.put("depends", dependencies);
+    if (!getDependencies().isEmpty()) {
+      result.put("depends", getDependencies());
     }
 
     return result;
   }
+
+  @Override
+  public void writeJSON(JSONWriter writer) {
+    super.writeJSON(writer);
+
+    if (superClass != null) {
+      writer.key("extends").value(superClass.getPath());
+    }
+
+    if (!getDependencies().isEmpty()) {
+      writeJSON(writer, "depends", getDependencies());
+    }
+  }
 }
@@ -1,6 +1,8 @@
 package illumi.code.ddd.model.artifacts;
 
 import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.Fqn;
+import illumi.code.ddd.model.FqnTable;
 import illumi.code.ddd.model.fitness.DDDFitness;
 import illumi.code.ddd.model.fitness.DDDIssueType;
 
@@ -12,7 +14,7 @@ public class Field {
 
   private String visibility;
   private String name;
-  private String type;
+  private Fqn type;
 
   /**
    * Constructor of field using Neo4j record.
@@ -20,9 +22,22 @@ public class Field {
    * @param record : Neo4j result
    */
   public Field(Record record) {
+    this(record, null);
+  }
+
+  /**
+   * Constructor of field using Neo4j record, the type is shared through the symbol table.
+   *
+   * @param record  : Neo4j result
+   * @param symbols : symbol table of the analysis, null to create an own type
+   */
+  public Field(Record record, FqnTable symbols) {
     this.visibility = record.get("visibility").asString();
     this.name = record.get("name").asString();
-    this.type = record.get("type").asString().split(" ")[0];
+    String signature = record.get("type").asString();
+    int end = signature.indexOf(' ');
+    String type = end >= 0 ? signature.substring(0, end) : signature;
+    this.type = symbols != null ? symbols.intern(type) : Fqn.of(type);
   }
 
   /**
@@ -33,6 +48,19 @@ public class Field {
    * @param type       : datatype of the field
    */
   public Field(String visibility, String name, String type) {
+    this.visibility = visibility;
+    this.name = name;
+    this.type = Fqn.of(type);
+  }
+
+  /**
+   * Constructor of field with a shared type.
+   *
+   * @param visibility : visibility of the field
+   * @param name       : name of the field
+   * @param type       : datatype of the field
+   */
+  public Field(String visibility, String name, Fqn type) {
     this.visibility = visibility;
     this.name = name;
     this.type = type;
@@ -51,17 +79,21 @@ public class Field {
   }
 
   public String getType() {
+    return type != null ? type.getValue() : null;
+  }
+
+  public Fqn getTypeFqn() {
     return type;
   }
 
   public void setType(String type) {
-    this.type = type;
+    this.type = Fqn.of(type);
   }
 
   @SuppressWarnings("CheckStyle")
   public String getUMLSignature() {
     String umlVisibility = File.getUMLVisibility(visibility);
-    return String.format("%s %s: %s", umlVisibility, name, type);
+    return String.format("%s %s: %s", umlVisibility, name, getType());
   }
 
   /**
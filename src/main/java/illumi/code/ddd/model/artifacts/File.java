@@ -5,8 +5,11 @@ import illumi.code.ddd.service.analyse.impl.JavaArtifactService;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.json.JSONObject;
+import org.json.JSONWriter;
 import org.neo4j.driver.v1.Driver;
 import org.neo4j.driver.v1.Record;
 
@@ -17,6 +20,8 @@ public abstract class File extends Artifact {
   private ArrayList<Annotation> annotations;
   private ArrayList<Interface> implInterfaces;
 
+  private volatile Supplier<List<Field>> fieldSource;
+  private volatile Supplier<List<Method>> methodSource;
 
   File(Record record, DDDType type) {
     super(record, type);
@@ -36,27 +41,69 @@ public abstract class File extends Artifact {
   }
 
   public List<Field> getFields() {
+    if (fieldSource != null) {
+      loadFields();
+    }
     return fields;
   }
 
   public void setFields(Driver driver) {
+    this.fieldSource = null;
     this.fields = (ArrayList<Field>) new JavaArtifactService(driver, getPath()).getFields();
   }
 
+  /**
+   * Set the source the fields are decoded from on first access.
+   *
+   * @param fieldSource : source of the fields
+   */
+  public void setFieldSource(Supplier<List<Field>> fieldSource) {
+    this.fields = new ArrayList<>();
+    this.fieldSource = fieldSource;
+  }
+
+  private synchronized void loadFields() {
+    if (fieldSource != null) {
+      this.fields.addAll(fieldSource.get());
+      this.fieldSource = null;
+    }
+  }
+
   public void addField(Field field) {
-    this.fields.add(field);
+    getFields().add(field);
   }
 
   public List<Method> getMethods() {
+    if (methodSource != null) {
+      loadMethods();
+    }
     return methods;
   }
 
   public void setMethods(Driver driver) {
+    this.methodSource = null;
     this.methods = (ArrayList<Method>) new JavaArtifactService(driver, getPath()).getMethods();
   }
 
+  /**
+   * Set the source the methods are decoded from on first access.
+   *
+   * @param methodSource : source of the methods
+   */
+  public void setMethodSource(Supplier<List<Method>> methodSource) {
+    this.methods = new ArrayList<>();
+    this.methodSource = methodSource;
+  }
+
+  private synchronized void loadMethods() {
+    if (methodSource != null) {
+      this.methods.addAll(methodSource.get());
+      this.methodSource = null;
+    }
+  }
+
   public void addMethod(Method method) {
-    this.methods.add(method);
+    getMethods().add(method);
   }
 
   public List<Annotation> getAnnotations() {
@@ -68,6 +115,10 @@ public abstract class File extends Artifact {
         .getAnnotations(annotations);
   }
 
+  public void addAnnotation(Annotation annotation) {
+    this.annotations.add(annotation);
+  }
+
   public List<Interface> getImplInterfaces() {
     return implInterfaces;
   }
@@ -94,12 +145,35 @@ public abstract class File extends Artifact {
     return result;
   }
 
+  @Override
+  public void writeJSON(JSONWriter writer) {
+    super.writeJSON(writer);
+
+    if (!getFields().isEmpty()) {
+      writeJSON(writer, "fields", getFields().stream()
+          .map(Field::getUMLSignature)
+          .collect(Collectors.toList()));
+    }
+
+    if (!getMethods().isEmpty()) {
+      writeJSON(writer, "methods", getMethods().stream()
+          .map(Method::getUMLSignature)
+          .collect(Collectors.toList()));
+    }
+
+    if (!implInterfaces.isEmpty()) {
+      writeJSON(writer, "implements", implInterfaces.stream()
+          .map(Artifact::getPath)
+          .collect(Collectors.toList()));
+    }
+  }
+
   @SuppressWarnings("CheckStyle")
   private void fieldsToJSON(JSONObject result) {
-    if (!fields.isEmpty()) {
+    if (!getFields().isEmpty()) {
       ArrayList<String> fieldSig = new ArrayList<>();
 
-      fields.stream()
+      getFields().stream()
           .parallel()
           .forEachOrdered(field -> fieldSig.add(field.getUMLSignature()));
 
@@ -109,11 +183,11 @@ public abstract class File extends Artifact {
 
   @SuppressWarnings("CheckStyle")
   private void methodsToJSON(JSONObject result) {
-    if (!methods.isEmpty()) {
+    if (!getMethods().isEmpty()) {
 
       ArrayList<String> methodSig = new ArrayList<>();
 
-      methods.stream()
+      getMethods().stream()
           .parallel()
           .forEachOrdered(method -> methodSig.add(method.getUMLSignature()));
 
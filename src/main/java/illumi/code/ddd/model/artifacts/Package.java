@@ -2,17 +2,26 @@ package illumi.code.ddd.model.artifacts;
 
 import illumi.code.ddd.model.DDDStructure;
 import illumi.code.ddd.model.DDDType;
+import illumi.code.ddd.model.NameIndex;
 import illumi.code.ddd.service.analyse.impl.PackageAnalyseService;
 import illumi.code.ddd.service.fitness.impl.PackageFitnessService;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import org.neo4j.driver.v1.Record;
 
 public class Package extends Artifact {
   private ArrayList<Artifact> contains;
 
+  private final AtomicLong nameVersion = new AtomicLong();
+  private List<Class> classes;
+  private NameIndex classNames;
+  private long classNamesVersion;
+
   /**
    * Constructor of package using Neo4j record.
    *
@@ -33,8 +42,10 @@ public class Package extends Artifact {
     return contains;
   }
 
-  public void setContains(List<Artifact> contains) {
+  public synchronized void setContains(List<Artifact> contains) {
     this.contains = (ArrayList<Artifact>) contains;
+    this.contains.forEach(artifact -> artifact.addNameVersion(this.nameVersion));
+    this.classNames = null;
   }
 
   /**
@@ -42,10 +53,35 @@ public class Package extends Artifact {
    *
    * @param artifact : new artifact
    */
-  public void addContains(Artifact artifact) {
+  public synchronized void addContains(Artifact artifact) {
     if (!this.contains.contains(artifact)) {
       this.contains.add(artifact);
+      artifact.addNameVersion(this.nameVersion);
+      this.classNames = null;
+    }
+  }
+
+  /**
+   * Find the first contained class whose lower case name occurs in the text. The index of the
+   * names is rebuilt after the contained artifacts have changed or a contained artifact is renamed.
+   *
+   * @param text : lower case text, e.g. the name of a repository
+   * @return class or null
+   */
+  public synchronized Class findClassIn(String text) {
+    long version = this.nameVersion.get();
+    if (this.classNames == null || this.classNamesVersion != version) {
+      this.classes = this.contains.stream()
+          .filter(Class.class::isInstance)
+          .map(Class.class::cast)
+          .collect(Collectors.toList());
+      this.classNames = new NameIndex(this.classes.stream()
+          .map(Artifact::getLowerName)
+          .collect(Collectors.toList()));
+      this.classNamesVersion = version;
     }
+    int id = this.classNames.match(text).nextSetBit(0);
+    return id >= 0 ? this.classes.get(id) : null;
   }
 
   public void setAggregateRoot(DDDStructure structure) {
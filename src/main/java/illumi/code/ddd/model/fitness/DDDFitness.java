@@ -1,7 +1,7 @@
 package illumi.code.ddd.model.fitness;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.json.JSONObject;
 
@@ -10,8 +10,9 @@ public class DDDFitness {
 
   private int numberOfCriteria;
   private int numberOfFulfilledCriteria;
+  private double fitness;
 
-  private ArrayList<DDDIssue> issues;
+  private IssueList issues;
 
   public DDDFitness() {
     this(0, 0);
@@ -26,7 +27,18 @@ public class DDDFitness {
   public DDDFitness(int numberOfCriteria, int numberOfFulfilledCriteria) {
     this.numberOfCriteria = numberOfCriteria;
     this.numberOfFulfilledCriteria = numberOfFulfilledCriteria;
-    this.issues = new ArrayList<>();
+    this.issues = new IssueList();
+    updateFitness();
+  }
+
+  /**
+   * Copy constructor of DDDFitness, the issues are copied into a new list.
+   *
+   * @param fitness : other DDDFitness
+   */
+  public DDDFitness(DDDFitness fitness) {
+    this(fitness.numberOfCriteria, fitness.numberOfFulfilledCriteria);
+    this.issues.addAll(fitness.issues);
   }
 
   public int getNumberOfCriteria() {
@@ -55,6 +67,7 @@ public class DDDFitness {
   public void addFailedCriteria(DDDIssueType type, String description) {
     numberOfCriteria += type.weight;
     issues.add(new DDDIssue(type, description));
+    updateFitness();
   }
 
   /**
@@ -66,6 +79,7 @@ public class DDDFitness {
   public DDDFitness addSuccessfulCriteria(DDDIssueType type) {
     numberOfCriteria += type.weight;
     numberOfFulfilledCriteria += type.weight;
+    updateFitness();
     return this;
   }
 
@@ -78,20 +92,26 @@ public class DDDFitness {
     this.numberOfCriteria += fitness.numberOfCriteria;
     this.numberOfFulfilledCriteria += fitness.numberOfFulfilledCriteria;
     this.issues.addAll(fitness.issues);
+    updateFitness();
   }
 
   /**
-   * Calculates the fitness of this object.
+   * Get the fitness of this object, it is calculated when a criteria is added.
    *
    * @return percentage of fitness
    */
   public double calculateFitness() {
+    return fitness;
+  }
+
+  private void updateFitness() {
     if (numberOfCriteria != 0) {
-      double fitness = (double) (numberOfFulfilledCriteria * 100) / numberOfCriteria;
+      double value = (double) (numberOfFulfilledCriteria * 100) / numberOfCriteria;
 
-      return Math.round(fitness * 100.0) / 100.0;
+      fitness = Math.round(value * 100.0) / 100.0;
+    } else {
+      fitness = 100.0;
     }
-    return 100.0;
   }
 
   /**
@@ -127,12 +147,11 @@ public class DDDFitness {
   }
 
   /**
-   * Get list of issues.
+   * Get list of issues, ordered by weight. The list is not copied, removing an issue removes it
+   * from this object.
    * @return List of issues
    */
   public List<DDDIssue> getIssues() {
-    issues.sort((DDDIssue i1, DDDIssue i2) ->
-        Integer.compare(i2.getType().weight, i1.getType().weight));
     return issues;
   }
 
@@ -141,12 +160,9 @@ public class DDDFitness {
    * @return List of issues
    */
   public List<String> getSortedIssues() {
-    ArrayList<String> result = new ArrayList<>();
-    getIssues().stream()
-        .parallel()
-        .forEachOrdered(dddIssue -> result.add(dddIssue.toString()));
-
-    return result;
+    return issues.stream()
+        .map(DDDIssue::toString)
+        .collect(Collectors.toList());
   }
 
 }
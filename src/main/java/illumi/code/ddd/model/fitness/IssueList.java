@@ -0,0 +1,157 @@
+package illumi.code.ddd.model.fitness;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Issues of a DDDFitness, stored in one bucket per DDDIssueType. The types are declared by
+ * descending weight, so the list is always ordered by weight without sorting; issues of the same
+ * type keep the order in which they were added. Added issues go to the bucket of their type.
+ */
+class IssueList extends AbstractList<DDDIssue> {
+
+  private static final DDDIssueType[] TYPES = DDDIssueType.values();
+
+  private final ArrayList<DDDIssue>[] buckets;
+  private int size;
+
+  @SuppressWarnings("unchecked")
+  IssueList() {
+    this.buckets = new ArrayList[TYPES.length];
+    this.size = 0;
+  }
+
+  @Override
+  public boolean add(DDDIssue issue) {
+    int type = issue.getType().ordinal();
+    if (buckets[type] == null) {
+      buckets[type] = new ArrayList<>();
+    }
+    buckets[type].add(issue);
+    size++;
+    modCount++;
+    return true;
+  }
+
+  /**
+   * Add all issues of another list, bucket by bucket.
+   *
+   * @param issues : other issues
+   */
+  void addAll(IssueList issues) {
+    for (int type = 0; type < TYPES.length; type++) {
+      if (issues.buckets[type] != null && !issues.buckets[type].isEmpty()) {
+        if (buckets[type] == null) {
+          buckets[type] = new ArrayList<>();
+        }
+        buckets[type].addAll(issues.buckets[type]);
+        size += issues.buckets[type].size();
+        modCount++;
+      }
+    }
+  }
+
+  @Override
+  public DDDIssue get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    int position = index;
+    for (ArrayList<DDDIssue> bucket : buckets) {
+      if (bucket != null) {
+        if (position < bucket.size()) {
+          return bucket.get(position);
+        }
+        position -= bucket.size();
+      }
+    }
+    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public DDDIssue remove(int index) {
+    DDDIssue issue = get(index);
+    remove(issue);
+    return issue;
+  }
+
+  @Override
+  public boolean remove(Object object) {
+    if (!(object instanceof DDDIssue)) {
+      return false;
+    }
+    ArrayList<DDDIssue> bucket = buckets[((DDDIssue) object).getType().ordinal()];
+    if (bucket != null && bucket.remove(object)) {
+      size--;
+      modCount++;
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean contains(Object object) {
+    if (!(object instanceof DDDIssue)) {
+      return false;
+    }
+    ArrayList<DDDIssue> bucket = buckets[((DDDIssue) object).getType().ordinal()];
+    return bucket != null && bucket.contains(object);
+  }
+
+  @Override
+  public void clear() {
+    for (ArrayList<DDDIssue> bucket : buckets) {
+      if (bucket != null) {
+        bucket.clear();
+      }
+    }
+    size = 0;
+    modCount++;
+  }
+
+  @Override
+  public Iterator<DDDIssue> iterator() {
+    return new Iterator<DDDIssue>() {
+      private int type = 0;
+      private int position = 0;
+      private DDDIssue last = null;
+
+      @Override
+      public boolean hasNext() {
+        while (type < TYPES.length
+            && (buckets[type] == null || position >= buckets[type].size())) {
+          type++;
+          position = 0;
+        }
+        return type < TYPES.length;
+      }
+
+      @Override
+      public DDDIssue next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        last = buckets[type].get(position++);
+        return last;
+      }
+
+      @Override
+      public void remove() {
+        if (last == null) {
+          throw new IllegalStateException();
+        }
+        buckets[type].remove(--position);
+        size--;
+        modCount++;
+        last = null;
+      }
+    };
+  }
+}
@@ -0,0 +1,148 @@
+package illumi.code.ddd.service.analyse;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("analyse")
+public class AnalyseConfiguration {
+
+  private ExtractionMode extraction = ExtractionMode.ARTIFACT;
+  private boolean incremental = false;
+
+  private int ioPoolSize = 32;
+  private int ioQueueSize = 1000;
+  private boolean ioVirtualThreads = false;
+  private int maxInFlight = 64;
+  private int jobPoolSize = 4;
+  private String snapshotDirectory = "snapshots";
+  private boolean streaming = false;
+
+  private int cacheMaxEntries = 16;
+  private long cacheMaxMemory = 512L * 1024 * 1024;
+  private Duration cacheTtl = Duration.ofHours(1);
+  private String versionQuery;
+
+  private int sessionMaxEntries = 16;
+  private Duration sessionTtl = Duration.ofHours(1);
+
+  public ExtractionMode getExtraction() {
+    return extraction;
+  }
+
+  public void setExtraction(ExtractionMode extraction) {
+    this.extraction = extraction;
+  }
+
+  public boolean isIncremental() {
+    return incremental;
+  }
+
+  public void setIncremental(boolean incremental) {
+    this.incremental = incremental;
+  }
+
+  public int getIoPoolSize() {
+    return ioPoolSize;
+  }
+
+  public void setIoPoolSize(int ioPoolSize) {
+    this.ioPoolSize = ioPoolSize;
+  }
+
+  public int getIoQueueSize() {
+    return ioQueueSize;
+  }
+
+  public void setIoQueueSize(int ioQueueSize) {
+    this.ioQueueSize = ioQueueSize;
+  }
+
+  public boolean isIoVirtualThreads() {
+    return ioVirtualThreads;
+  }
+
+  public void setIoVirtualThreads(boolean ioVirtualThreads) {
+    this.ioVirtualThreads = ioVirtualThreads;
+  }
+
+  public int getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  public void setMaxInFlight(int maxInFlight) {
+    this.maxInFlight = maxInFlight;
+  }
+
+  public int getJobPoolSize() {
+    return jobPoolSize;
+  }
+
+  public void setJobPoolSize(int jobPoolSize) {
+    this.jobPoolSize = jobPoolSize;
+  }
+
+  public String getSnapshotDirectory() {
+    return snapshotDirectory;
+  }
+
+  public void setSnapshotDirectory(String snapshotDirectory) {
+    this.snapshotDirectory = snapshotDirectory;
+  }
+
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  public void setStreaming(boolean streaming) {
+    this.streaming = streaming;
+  }
+
+  public int getCacheMaxEntries() {
+    return cacheMaxEntries;
+  }
+
+  public void setCacheMaxEntries(int cacheMaxEntries) {
+    this.cacheMaxEntries = cacheMaxEntries;
+  }
+
+  public long getCacheMaxMemory() {
+    return cacheMaxMemory;
+  }
+
+  public void setCacheMaxMemory(long cacheMaxMemory) {
+    this.cacheMaxMemory = cacheMaxMemory;
+  }
+
+  public Duration getCacheTtl() {
+    return cacheTtl;
+  }
+
+  public void setCacheTtl(Duration cacheTtl) {
+    this.cacheTtl = cacheTtl;
+  }
+
+  public String getVersionQuery() {
+    return versionQuery;
+  }
+
+  public void setVersionQuery(String versionQuery) {
+    this.versionQuery = versionQuery;
+  }
+
+  public int getSessionMaxEntries() {
+    return sessionMaxEntries;
+  }
+
+  public void setSessionMaxEntries(int sessionMaxEntries) {
+    this.sessionMaxEntries = sessionMaxEntries;
+  }
+
+  public Duration getSessionTtl() {
+    return sessionTtl;
+  }
+
+  public void setSessionTtl(Duration sessionTtl) {
+    this.sessionTtl = sessionTtl;
+  }
+}
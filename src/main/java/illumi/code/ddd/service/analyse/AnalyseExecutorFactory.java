@@ -0,0 +1,106 @@
+package illumi.code.ddd.service.analyse;
+
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Factory
+public class AnalyseExecutorFactory {
+  public static final String ANALYSE_IO = "analyse-io";
+  public static final String ANALYSE_JOBS = "analyse-jobs";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AnalyseExecutorFactory.class);
+
+  /**
+   * Executor for the blocking Neo4j I/O of the analysis.
+   *
+   * @param configuration : configuration of the analysis
+   * @return ExecutorService
+   */
+  @Bean(preDestroy = "shutdown")
+  @Singleton
+  @Named(ANALYSE_IO)
+  public ExecutorService analyseIoExecutor(AnalyseConfiguration configuration) {
+    return create(configuration);
+  }
+
+  /**
+   * Executor for the analysis jobs, separated from the I/O executor the jobs are waiting for.
+   *
+   * @param configuration : configuration of the analysis
+   * @return ExecutorService
+   */
+  @Bean(preDestroy = "shutdown")
+  @Singleton
+  @Named(ANALYSE_JOBS)
+  public ExecutorService analyseJobExecutor(AnalyseConfiguration configuration) {
+    return Executors.newFixedThreadPool(configuration.getJobPoolSize(),
+        new DaemonThreadFactory(ANALYSE_JOBS));
+  }
+
+  /**
+   * Create an executor for the blocking Neo4j I/O of the analysis. Uses virtual threads
+   * if configured and supported by the JDK, otherwise a bounded thread pool whose callers
+   * run the task themselves as soon as the queue is full.
+   *
+   * @param configuration : configuration of the analysis
+   * @return ExecutorService
+   */
+  public static ExecutorService create(AnalyseConfiguration configuration) {
+    if (configuration.isIoVirtualThreads()) {
+      ExecutorService executor = createVirtualThreadExecutor();
+      if (executor != null) {
+        return executor;
+      }
+      LOGGER.warn("Virtual threads are not supported by this JDK");
+    }
+
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        configuration.getIoPoolSize(), configuration.getIoPoolSize(),
+        60L, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(configuration.getIoQueueSize()),
+        new DaemonThreadFactory(ANALYSE_IO),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static ExecutorService createVirtualThreadExecutor() {
+    try {
+      return (ExecutorService) Executors.class
+          .getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  private static class DaemonThreadFactory implements ThreadFactory {
+    private final String name;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    DaemonThreadFactory(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
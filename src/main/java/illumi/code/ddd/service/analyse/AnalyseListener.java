@@ -0,0 +1,14 @@
+package illumi.code.ddd.service.analyse;
+
+public interface AnalyseListener {
+
+  AnalyseListener NONE = (phase, count) -> { };
+
+  /**
+   * Called when a phase of the analysis has finished.
+   *
+   * @param phase : finished phase
+   * @param count : number of artifacts (or domains) found in the phase
+   */
+  void onPhase(AnalysePhase phase, int count);
+}
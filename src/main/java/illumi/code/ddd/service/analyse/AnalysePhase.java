@@ -0,0 +1,23 @@
+package illumi.code.ddd.service.analyse;
+
+/**
+ * Phases of an analysis in the order they run, with the share of the analysis done after each.
+ */
+public enum AnalysePhase {
+  READ_ARTIFACTS(40),
+  CLASSIFY(60),
+  DOMAINS(70),
+  INFRASTRUCTURE(80),
+  EVENTS(85),
+  FITNESS(100);
+
+  private final int percent;
+
+  AnalysePhase(int percent) {
+    this.percent = percent;
+  }
+
+  public int getPercent() {
+    return percent;
+  }
+}
@@ -0,0 +1,158 @@
+package illumi.code.ddd.service.analyse;
+
+import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.artifacts.File;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * LRU cache of analysed structures and their rendered JSON, keyed by the fully qualified name
+ * of the system module and the version token of the scanned graph.
+ * The memory of an entry is approximated by the size of its rendered JSON, or by the number of
+ * artifacts and members if the structure is streamed instead of rendered.
+ */
+@Singleton
+public class AnalyseResultCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AnalyseResultCache.class);
+
+  private static final long MEMBER_SIZE = 128;
+
+  private final int maxEntries;
+  private final long maxMemory;
+  private final long ttl;
+
+  private final LinkedHashMap<String, Result> results;
+  private long memory;
+
+  public @Inject AnalyseResultCache(AnalyseConfiguration configuration) {
+    this(configuration.getCacheMaxEntries(), configuration.getCacheMaxMemory(),
+        configuration.getCacheTtl());
+  }
+
+  /**
+   * Constructor of AnalyseResultCache.
+   *
+   * @param maxEntries : maximum number of cached results
+   * @param maxMemory  : maximum estimated memory of all cached results in bytes
+   * @param ttl        : time to live of a cached result
+   */
+  public AnalyseResultCache(int maxEntries, long maxMemory, Duration ttl) {
+    this.maxEntries = maxEntries;
+    this.maxMemory = maxMemory;
+    this.ttl = ttl.toNanos();
+    this.results = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Get the cached result of a system module.
+   *
+   * @param path    : fully qualified name of the system module
+   * @param version : version token of the scanned graph
+   * @return cached result, null if missing, expired or of another version
+   */
+  public synchronized Result get(String path, String version) {
+    Result result = results.get(path);
+    if (result == null) {
+      return null;
+    }
+    if (!result.version.equals(version) || isExpired(result)) {
+      remove(path);
+      return null;
+    }
+    LOGGER.info("[CACHE] - HIT - {}", path);
+    return result;
+  }
+
+  /**
+   * Cache the result of a system module and evict the least recently used results.
+   *
+   * @param path      : fully qualified name of the system module
+   * @param version   : version token of the scanned graph
+   * @param structure : analysed structure
+   * @param response  : rendered JSON of the structure, null if it is streamed
+   */
+  public synchronized void put(String path, String version, DDDStructure structure,
+                               String response) {
+    remove(path);
+    Result result = new Result(version, structure, response);
+    if (maxEntries <= 0 || result.memory > maxMemory) {
+      return;
+    }
+    results.put(path, result);
+    memory += result.memory;
+    evict();
+  }
+
+  public synchronized int size() {
+    return results.size();
+  }
+
+  public synchronized long getMemory() {
+    return memory;
+  }
+
+  private void remove(String path) {
+    Result result = results.remove(path);
+    if (result != null) {
+      memory -= result.memory;
+    }
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<String, Result>> iterator = results.entrySet().iterator();
+    while (iterator.hasNext() && (results.size() > maxEntries || memory > maxMemory)) {
+      Map.Entry<String, Result> eldest = iterator.next();
+      LOGGER.info("[CACHE] - EVICT - {}", eldest.getKey());
+      memory -= eldest.getValue().memory;
+      iterator.remove();
+    }
+  }
+
+  private static long estimateMemory(DDDStructure structure) {
+    long members = structure.getPackages().size()
+        + Stream.of(structure.getClasses(), structure.getInterfaces(), structure.getEnums(),
+            structure.getAnnotations())
+        .flatMap(files -> files.stream().map(File.class::cast))
+        .mapToLong(item -> 1L + item.getFields().size() + item.getMethods().size())
+        .sum();
+    return members * MEMBER_SIZE;
+  }
+
+  private boolean isExpired(Result result) {
+    return System.nanoTime() - result.created > ttl;
+  }
+
+  public static class Result {
+    private final String version;
+    private final DDDStructure structure;
+    private final String response;
+    private final long memory;
+    private final long created;
+
+    Result(String version, DDDStructure structure, String response) {
+      this.version = version;
+      this.structure = structure;
+      this.response = response;
+      this.memory = response != null ? 2L * response.length() : estimateMemory(structure);
+      this.created = System.nanoTime();
+    }
+
+    public DDDStructure getStructure() {
+      return structure;
+    }
+
+    public String getResponse() {
+      return response;
+    }
+  }
+}
@@ -1,11 +1,22 @@
 package illumi.code.ddd.service.analyse;
 
 import illumi.code.ddd.model.DDDStructure;
+
+import java.nio.file.Path;
+
 import org.json.JSONArray;
 
 public interface AnalyseService {
 
   void setStructure(DDDStructure structure);
 
+  void setListener(AnalyseListener listener);
+
   JSONArray analyzeStructure(String path);
+
+  JSONArray analyzeSnapshot(Path file);
+
+  boolean exportSnapshot(String path, Path file);
+
+  String getVersion(String path);
 }
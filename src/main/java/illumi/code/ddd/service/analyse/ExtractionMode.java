@@ -0,0 +1,20 @@
+package illumi.code.ddd.service.analyse;
+
+public enum ExtractionMode {
+  /**
+   * Reads fields, methods, relations and annotations with separate queries per artifact.
+   */
+  ARTIFACT,
+
+  /**
+   * Reads fields, methods, relations and annotations of the whole system with a few
+   * set-based queries and joins them in memory by the fully qualified name.
+   */
+  BULK,
+
+  /**
+   * Reads the artifacts with the async driver API and classifies each artifact as soon as
+   * its data arrives, with a bounded number of artifacts in flight.
+   */
+  ASYNC
+}
@@ -2,51 +2,86 @@ package illumi.code.ddd.service.analyse.impl;
 
 import illumi.code.ddd.model.DDDStructure;
 import illumi.code.ddd.model.DDDType;
-import illumi.code.ddd.model.artifacts.Annotation;
+import illumi.code.ddd.model.Fqn;
 import illumi.code.ddd.model.artifacts.Artifact;
 import illumi.code.ddd.model.artifacts.Class;
-import illumi.code.ddd.model.artifacts.Enum;
-import illumi.code.ddd.model.artifacts.Interface;
-import illumi.code.ddd.model.artifacts.Package;
+import illumi.code.ddd.model.artifacts.File;
+import illumi.code.ddd.service.analyse.AnalyseConfiguration;
+import illumi.code.ddd.service.analyse.AnalyseExecutorFactory;
+import illumi.code.ddd.service.analyse.AnalyseListener;
+import illumi.code.ddd.service.analyse.AnalysePhase;
 import illumi.code.ddd.service.analyse.AnalyseService;
+import illumi.code.ddd.service.analyse.ExtractionMode;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 
 import org.json.JSONArray;
 import org.neo4j.driver.v1.Driver;
-import org.neo4j.driver.v1.Session;
-import org.neo4j.driver.v1.StatementResult;
-import org.neo4j.driver.v1.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 
 public class AnalyseServiceImpl implements AnalyseService {
 
-  private static final String QUERY_ARTIFACT =
-      "MATCH (root:Package)-[:CONTAINS]->(artifact) "
-          + "WHERE root.fqn={path} "
-          + "AND (artifact:Package "
-          + "OR artifact:Class "
-          + "OR artifact:Interface "
-          + "OR artifact:Enum "
-          + "OR artifact:Annotation) "
-          + "RETURN DISTINCT artifact.name as name, "
-          + "artifact.fqn as path, "
-          + "labels(artifact) as types";
-
   private static final Logger LOGGER = LoggerFactory.getLogger(AnalyseServiceImpl.class);
 
+  private static final ArtifactData NO_DATA = new ArtifactData();
+
   private Driver driver;
+  private AnalyseConfiguration configuration;
+  private ExecutorService ioExecutor;
 
   private DDDStructure structure;
+  private AnalyseListener listener;
+
+  private Map<String, ArtifactData> artifactData;
+
+  private IncrementalStateStore states;
+  private IncrementalState previous;
+  private IncrementalState next;
+  private boolean sameClasses;
+
+  public AnalyseServiceImpl(Driver driver) {
+    this(driver, new AnalyseConfiguration());
+  }
+
+  public AnalyseServiceImpl(Driver driver, AnalyseConfiguration configuration) {
+    this(driver, configuration, AnalyseExecutorFactory.create(configuration),
+        new IncrementalStateStore());
+  }
 
-  public @Inject AnalyseServiceImpl(Driver driver) {
+  /**
+   * Constructor of AnalyseServiceImpl.
+   *
+   * @param driver        : Neo4j-Driver
+   * @param configuration : configuration of the analysis
+   * @param ioExecutor    : executor for the blocking Neo4j I/O
+   * @param states        : states of the last incremental analyses
+   */
+  public @Inject AnalyseServiceImpl(Driver driver, AnalyseConfiguration configuration,
+                                    @Named(AnalyseExecutorFactory.ANALYSE_IO)
+                                        ExecutorService ioExecutor,
+                                    IncrementalStateStore states) {
     this.driver = driver;
+    this.configuration = configuration;
+    this.ioExecutor = ioExecutor;
     this.structure = new DDDStructure();
+    this.listener = AnalyseListener.NONE;
+    this.states = states;
   }
 
   @Override
@@ -54,81 +89,194 @@ public class AnalyseServiceImpl implements AnalyseService {
     this.structure = structure;
   }
 
+  @Override
+  public void setListener(AnalyseListener listener) {
+    this.listener = listener;
+  }
+
   @Override
   public JSONArray analyzeStructure(String path) {
     structure.setPath(path);
     structure.setStructure(getArtifacts(path));
+    if (configuration.isIncremental()) {
+      return analyzeIncremental(path);
+    } else if (configuration.getExtraction() == ExtractionMode.ASYNC) {
+      analyzeAsync(path);
+      listener.onPhase(AnalysePhase.READ_ARTIFACTS, getFiles().size());
+      listener.onPhase(AnalysePhase.CLASSIFY, structure.getClasses().size());
+    } else {
+      readArtifactData(path);
+      listener.onPhase(AnalysePhase.READ_ARTIFACTS, getFiles().size());
+      analyzeArtifacts();
+    }
+    return analyzeDomains();
+  }
+
+  // Fail with the cause like the synchronous modes, not with the CompletionException of join.
+  private void analyzeAsync(String path) {
+    try {
+      new AsyncAnalyseEngine(driver, structure, path, configuration.getMaxInFlight())
+          .analyse()
+          .toCompletableFuture()
+          .join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private JSONArray analyzeIncremental(String path) {
+    readChangedArtifactData(path);
+    listener.onPhase(AnalysePhase.READ_ARTIFACTS, getFiles().size());
+    analyzeArtifacts();
+
+    JSONArray result = analyzeDomains();
+    states.put(path, next);
+    previous = null;
+    next = null;
+    return result;
+  }
+
+  @Override
+  public JSONArray analyzeSnapshot(Path file) {
+    artifactData = new SnapshotReader(file).read(structure);
+    listener.onPhase(AnalysePhase.READ_ARTIFACTS, getFiles().size());
+    analyzeArtifacts();
+    return analyzeDomains();
+  }
+
+  @Override
+  public boolean exportSnapshot(String path, Path file) {
+    DDDStructure snapshot = new DDDStructure();
+    snapshot.setPath(path);
+    snapshot.setStructure(new ContainmentService(driver, path).getArtifacts(snapshot));
+    Map<String, ArtifactData> data =
+        new BulkArtifactService(driver, path, snapshot.getPath(), snapshot.getSymbols())
+            .getArtifactData();
+    try {
+      LOGGER.info("[WRITE] - SNAPSHOT - {}", file);
+      new SnapshotWriter(file).write(path, snapshot, data);
+      return true;
+    } catch (IOException e) {
+      LOGGER.error(e.getMessage(), e);
+    }
+    return false;
+  }
+
+  @Override
+  public String getVersion(String path) {
+    return new BulkArtifactService(driver, path, path).getVersion(configuration.getVersionQuery());
+  }
+
+  private void analyzeArtifacts() {
     analyzeClasses();
     analyzeInterfaces();
     analyzeEnums();
     analyzeAnnotations();
+    listener.onPhase(AnalysePhase.CLASSIFY, structure.getClasses().size());
+  }
 
+  private JSONArray analyzeDomains() {
     setupDomains();
+    if (next != null) {
+      next.setDomains(structure);
+    }
     analyseDomains();
+    if (next != null) {
+      next.setAggregateRoots(structure);
+    }
+    listener.onPhase(AnalysePhase.DOMAINS, structure.getDomains().size());
 
     findInfrastructure();
+    listener.onPhase(AnalysePhase.INFRASTRUCTURE, count(DDDType.INFRASTRUCTURE));
 
     findEvents();
+    listener.onPhase(AnalysePhase.EVENTS, count(DDDType.DOMAIN_EVENT));
+    artifactData = null;
     return structure.getJSON();
   }
 
-  private ArrayList<Artifact> getArtifacts(String path) {
-    try (Session session = driver.session()) {
-      LOGGER.info("[READ] Artifacts of {}", path);
-      StatementResult result = session.run(QUERY_ARTIFACT, Values.parameters("path", path));
-      return convertResultToArtifacts(result);
-    } catch (Exception e) {
-      LOGGER.error(e.getMessage(), e);
+  private int count(DDDType type) {
+    return (int) structure.getClasses().stream()
+        .filter(item -> item.isTypeOf(type))
+        .count();
+  }
+
+  private List<Artifact> getArtifacts(String path) {
+    return new ContainmentService(driver, path).getArtifacts(structure);
+  }
+
+  private void readArtifactData(String path) {
+    if (configuration.getExtraction() == ExtractionMode.BULK) {
+      artifactData = CompletableFuture
+          .supplyAsync(() -> new BulkArtifactService(driver, path, structure.getPath(),
+              structure.getSymbols()).getArtifactData(), ioExecutor)
+          .join();
+    } else {
+      artifactData = readEachArtifact(getFiles());
     }
-    return new ArrayList<>();
   }
 
-  private ArrayList<Artifact> convertResultToArtifacts(StatementResult result) {
-    ArrayList<Artifact> artifacts = new ArrayList<>();
-    result.stream()
-        .parallel()
-        .forEach(item -> {
-          List<Object> types = item.get("types").asList();
-          Artifact artifact;
-
-          if (types.contains("Package")) {
-            artifact = new Package(item);
-            ((Package) artifact).setContains(getArtifacts(artifact.getPath()));
-            structure.addPackage((Package) artifact);
-            LOGGER.info("[CREATE] - PACKAGE - {}", artifact.getPath());
-          } else if (types.contains("Class")) {
-            artifact = new Class(item);
-            structure.addClass((Class) artifact);
-            LOGGER.info("[CREATE] - CLASS - {}", artifact.getPath());
-          } else if (types.contains("Interface")) {
-            artifact = new Interface(item);
-            structure.addInterface((Interface) artifact);
-            LOGGER.info("[CREATE] - INTERFACE - {}", artifact.getPath());
-          } else if (types.contains("Enum")) {
-            artifact = new Enum(item);
-            structure.addEnum((Enum) artifact);
-            LOGGER.info("[CREATE] - ENUM - {}", artifact.getPath());
-          } else {
-            artifact = new Annotation(item);
-            structure.addAnnotation((Annotation) artifact);
-            LOGGER.info("[CREATE] - ANNOTATION - {}", artifact.getPath());
-          }
+  private void readChangedArtifactData(String path) {
+    Map<String, String> fingerprints =
+        new BulkArtifactService(driver, path, structure.getPath()).getFingerprints();
+    previous = states.get(path);
+    sameClasses = false;
+
+    if (previous == null) {
+      readArtifactData(path);
+    } else {
+      ConcurrentHashMap<String, ArtifactData> data = new ConcurrentHashMap<>();
+      List<File> changed = new ArrayList<>();
+      for (File item : getFiles()) {
+        if (previous.isUnchanged(item.getPath(), fingerprints.get(item.getPath()))) {
+          data.put(item.getPath(), previous.getData(item.getPath()));
+        } else {
+          changed.add(item);
+        }
+      }
+      LOGGER.info("[READ] - CHANGED - {} of {}", changed.size(), data.size() + changed.size());
+      data.putAll(readEachArtifact(changed));
+      artifactData = data;
+      sameClasses = previous.hasSameClasses(structure);
+    }
 
-          artifacts.add(artifact);
-        });
-    return artifacts;
+    HashMap<String, ArtifactData> data = new HashMap<>();
+    artifactData.forEach((key, value) -> data.put(key, value.copy()));
+    next = new IncrementalState(fingerprints, data);
+  }
+
+  private List<File> getFiles() {
+    List<File> files = new ArrayList<>(structure.getClasses());
+    files.addAll(structure.getInterfaces());
+    files.addAll(structure.getEnums());
+    files.addAll(structure.getAnnotations());
+    return files;
+  }
+
+  private Map<String, ArtifactData> readEachArtifact(List<File> files) {
+    ConcurrentHashMap<String, ArtifactData> result = new ConcurrentHashMap<>();
+    CompletableFuture.allOf(files.stream()
+        .map(item -> CompletableFuture.runAsync(() -> result.put(item.getPath(),
+            new JavaArtifactService(driver, item.getPath(), structure.getSymbols())
+                .getArtifactData(structure.getPath())),
+            ioExecutor))
+        .toArray(CompletableFuture[]::new))
+        .join();
+    return result;
+  }
+
+  private ArtifactData getArtifactData(Artifact item) {
+    return artifactData.getOrDefault(item.getPath(), NO_DATA);
   }
 
   private void analyzeClasses() {
     structure.getClasses().stream()
         .parallel()
         .forEach(item -> {
-          item.setFields(driver);
-          item.setMethods(driver);
-          item.setSuperClass(driver, structure.getClasses());
-          item.setImplInterfaces(driver, structure.getInterfaces());
-          item.setAnnotations(driver, structure.getAnnotations());
-          item.setDependencies(driver, structure.getPath());
+          getArtifactData(item).assignClass(item, structure);
 
           if (item.getSuperClass() != null) {
             item.setType(DDDType.ENTITY);
@@ -138,19 +286,38 @@ public class AnalyseServiceImpl implements AnalyseService {
 
     structure.getClasses().stream()
         .parallel()
-        .forEach(item -> item.setType(structure));
+        .forEach(item -> {
+          DDDType type = item.getType();
+          DDDType classified = previous != null && sameClasses
+              ? previous.getClassifiedType(item, getArtifactData(item)) : null;
+          if (classified != null) {
+            item.setType(classified);
+          } else {
+            item.setType(structure);
+          }
+          if (next != null) {
+            next.setClassified(item, type);
+          }
+        });
   }
 
   private void analyzeInterfaces() {
     structure.getInterfaces().stream()
         .parallel()
         .forEach(item -> {
-          item.setFields(driver);
-          item.setMethods(driver);
-          item.setImplInterfaces(driver, structure.getInterfaces());
-          item.setAnnotations(driver, structure.getAnnotations());
+          getArtifactData(item).assignInterface(item, structure);
 
-          item.setType();
+          DDDType type = item.getType();
+          DDDType classified = previous != null
+              ? previous.getClassifiedType(item, getArtifactData(item)) : null;
+          if (classified != null) {
+            item.setType(classified);
+          } else {
+            item.setType();
+          }
+          if (next != null) {
+            next.setClassified(item, type);
+          }
         });
   }
 
@@ -158,8 +325,10 @@ public class AnalyseServiceImpl implements AnalyseService {
     structure.getEnums().stream()
         .parallel()
         .forEach(item -> {
-          item.setFields(driver);
-          item.setAnnotations(driver, structure.getAnnotations());
+          getArtifactData(item).assignEnum(item, structure);
+          if (next != null) {
+            next.setClassified(item, null);
+          }
         });
   }
 
@@ -167,49 +336,61 @@ public class AnalyseServiceImpl implements AnalyseService {
     structure.getAnnotations().stream()
         .parallel()
         .forEach(item -> {
-          item.setFields(driver);
-          item.setMethods(driver);
-          item.setAnnotations(driver, structure.getAnnotations());
-        });
-  }
-
-  private void setupDomains() {
-    structure.getClasses().stream()
-        .parallel()
-        .forEach(item -> {
-          if (item.isTypeOf(DDDType.ENTITY)
-              || item.isTypeOf(DDDType.VALUE_OBJECT)
-              || item.isTypeOf(DDDType.REPOSITORY)
-              || item.isTypeOf(DDDType.FACTORY)) {
-            addDomain(item);
-          }
-        });
-
-    structure.getInterfaces().stream()
-        .parallel()
-        .forEach(item -> {
-          if (item.isTypeOf(DDDType.REPOSITORY)
-              || item.isTypeOf(DDDType.FACTORY)) {
-            addDomain(item);
+          getArtifactData(item).assignAnnotation(item, structure);
+          if (next != null) {
+            next.setClassified(item, null);
           }
         });
+  }
 
-    structure.getEnums().stream()
+  /**
+   * Set the domain of the entities, value objects, repositories, factories and enums in
+   * parallel. The domains are added to the structure afterwards in the order of the artifacts,
+   * so the order of the domains does not depend on the threads.
+   */
+  void setupDomains() {
+    Stream<Artifact> classes = structure.getClasses().stream()
+        .filter(item -> item.isTypeOf(DDDType.ENTITY)
+            || item.isTypeOf(DDDType.VALUE_OBJECT)
+            || item.isTypeOf(DDDType.REPOSITORY)
+            || item.isTypeOf(DDDType.FACTORY))
+        .map(Artifact.class::cast);
+
+    Stream<Artifact> interfaces = structure.getInterfaces().stream()
+        .filter(item -> item.isTypeOf(DDDType.REPOSITORY)
+            || item.isTypeOf(DDDType.FACTORY))
+        .map(Artifact.class::cast);
+
+    Stream<Artifact> enums = structure.getEnums().stream()
+        .map(Artifact.class::cast);
+
+    Stream.concat(Stream.concat(classes, interfaces), enums)
         .parallel()
-        .forEach(this::addDomain);
+        .map(this::setDomain)
+        .collect(Collectors.toList())
+        .forEach(structure::addDomain);
   }
 
-  private void addDomain(Artifact item) {
-    String[] split = item.getPath().split("[.]");
-    String domain = split[split.length - 2];
-    structure.addDomain(domain);
+  private String setDomain(Artifact item) {
+    Fqn path = item.getFqn();
+    String domain = path.getSegment(path.size() - 2);
     item.setDomain(domain);
+    return domain;
   }
 
   private void analyseDomains() {
+    boolean sameDomains = previous != null && sameClasses && previous.hasSameDomains(structure);
     structure.getPackages().stream()
         .parallel()
-        .forEach(item -> item.setAggregateRoot(structure));
+        .forEach(item -> {
+          if (sameDomains && previous.isUnchanged(item, artifactData)) {
+            item.getContains().stream()
+                .filter(artifact -> previous.isAggregateRoot(artifact.getPath()))
+                .forEach(artifact -> artifact.setType(DDDType.AGGREGATE_ROOT));
+          } else {
+            item.setAggregateRoot(structure);
+          }
+        });
   }
 
   private void findInfrastructure() {
@@ -0,0 +1,270 @@
+package illumi.code.ddd.service.analyse.impl;
+
+import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.artifacts.Annotation;
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.Enum;
+import illumi.code.ddd.model.artifacts.Field;
+import illumi.code.ddd.model.artifacts.File;
+import illumi.code.ddd.model.artifacts.Interface;
+import illumi.code.ddd.model.artifacts.Method;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Raw graph data of a single artifact, joined into the model after reading.
+ */
+class ArtifactData {
+
+  private ArrayList<Field> fields;
+  private ArrayList<Method> methods;
+  private String superClass;
+  private ArrayList<String> interfaces;
+  private ArrayList<String> annotations;
+  private ArrayList<String> dependencies;
+
+  private Supplier<List<Field>> fieldSource;
+  private Supplier<List<Method>> methodSource;
+  private Supplier<List<String>> dependencySource;
+
+  ArtifactData() {
+    this.fields = new ArrayList<>();
+    this.methods = new ArrayList<>();
+    this.interfaces = new ArrayList<>();
+    this.annotations = new ArrayList<>();
+    this.dependencies = new ArrayList<>();
+  }
+
+  List<Field> getFields() {
+    return fieldSource != null ? fieldSource.get() : fields;
+  }
+
+  void setFieldSource(Supplier<List<Field>> fieldSource) {
+    this.fieldSource = fieldSource;
+  }
+
+  void addField(Field field) {
+    this.fields.add(field);
+  }
+
+  List<Method> getMethods() {
+    return methodSource != null ? methodSource.get() : methods;
+  }
+
+  void setMethodSource(Supplier<List<Method>> methodSource) {
+    this.methodSource = methodSource;
+  }
+
+  void addMethod(Method method) {
+    this.methods.add(method);
+  }
+
+  String getSuperClass() {
+    return superClass;
+  }
+
+  void setSuperClass(String superClass) {
+    if (this.superClass == null) {
+      this.superClass = superClass;
+    }
+  }
+
+  List<String> getInterfaces() {
+    return interfaces;
+  }
+
+  void addInterface(String path) {
+    this.interfaces.add(path);
+  }
+
+  List<String> getAnnotations() {
+    return annotations;
+  }
+
+  void addAnnotation(String path) {
+    this.annotations.add(path);
+  }
+
+  List<String> getDependencies() {
+    return dependencySource != null ? dependencySource.get() : dependencies;
+  }
+
+  void setDependencySource(Supplier<List<String>> dependencySource) {
+    this.dependencySource = dependencySource;
+  }
+
+  void addDependency(String path) {
+    this.dependencies.add(path);
+  }
+
+  /**
+   * Copy of the data with its own field and method objects.
+   *
+   * @return ArtifactData
+   */
+  ArtifactData copy() {
+    ArtifactData copy = new ArtifactData();
+    getFields().forEach(field ->
+        copy.addField(new Field(field.getVisibility(), field.getName(), field.getTypeFqn())));
+    getMethods().forEach(method -> copy.addMethod(new Method(method)));
+    copy.setSuperClass(superClass);
+    copy.interfaces.addAll(interfaces);
+    copy.annotations.addAll(annotations);
+    copy.dependencies.addAll(getDependencies());
+    return copy;
+  }
+
+  /**
+   * Compare the fields, methods and edges of two artifacts.
+   *
+   * @param other : data of the other artifact
+   * @return true if both contain the same data
+   */
+  boolean contentEquals(ArtifactData other) {
+    return other != null
+        && Objects.equals(superClass, other.superClass)
+        && interfaces.equals(other.interfaces)
+        && annotations.equals(other.annotations)
+        && getDependencies().equals(other.getDependencies())
+        && fieldKeys().equals(other.fieldKeys())
+        && methodKeys().equals(other.methodKeys());
+  }
+
+  private List<List<String>> fieldKeys() {
+    return getFields().stream()
+        .map(field -> Arrays.asList(field.getVisibility(), field.getName(), field.getType()))
+        .collect(Collectors.toList());
+  }
+
+  private List<List<String>> methodKeys() {
+    return getMethods().stream()
+        .map(method -> Arrays.asList(method.getVisibility(), method.getName(),
+            method.getSignature()))
+        .collect(Collectors.toList());
+  }
+
+  void assignFields(File artifact) {
+    if (fieldSource != null) {
+      artifact.setFieldSource(fieldSource);
+    } else {
+      fields.forEach(artifact::addField);
+    }
+  }
+
+  void assignMethods(File artifact) {
+    if (methodSource != null) {
+      artifact.setMethodSource(methodSource);
+    } else {
+      methods.forEach(artifact::addMethod);
+    }
+  }
+
+  /**
+   * Resolve and set the super class of the artifact.
+   *
+   * @param artifact  : class to update
+   * @param structure : structure of the system
+   */
+  void assignSuperClass(Class artifact, DDDStructure structure) {
+    if (superClass != null) {
+      Class c = structure.findClass(superClass);
+      if (c != null) {
+        artifact.setSuperClass(c);
+      }
+    }
+  }
+
+  /**
+   * Resolve and add the implemented interfaces of the artifact.
+   *
+   * @param artifact  : artifact to update
+   * @param structure : structure of the system
+   */
+  void assignImplInterfaces(File artifact, DDDStructure structure) {
+    for (String path : this.interfaces) {
+      Interface i = structure.findInterface(path);
+      if (i != null) {
+        artifact.addImplInterface(i);
+      }
+    }
+  }
+
+  /**
+   * Resolve and add the annotations of the artifact.
+   *
+   * @param artifact  : artifact to update
+   * @param structure : structure of the system
+   */
+  void assignAnnotations(File artifact, DDDStructure structure) {
+    for (String path : this.annotations) {
+      Annotation a = structure.findAnnotation(path);
+      if (a != null) {
+        artifact.addAnnotation(a);
+      }
+    }
+  }
+
+  void assignDependencies(Class artifact) {
+    if (dependencySource != null) {
+      artifact.setDependencySource(dependencySource);
+    } else {
+      artifact.setDependencies(dependencies);
+    }
+  }
+
+  /**
+   * Join the data into a class.
+   *
+   * @param artifact  : class to update
+   * @param structure : structure of the system
+   */
+  void assignClass(Class artifact, DDDStructure structure) {
+    assignFields(artifact);
+    assignMethods(artifact);
+    assignSuperClass(artifact, structure);
+    assignImplInterfaces(artifact, structure);
+    assignAnnotations(artifact, structure);
+    assignDependencies(artifact);
+  }
+
+  /**
+   * Join the data into an interface.
+   *
+   * @param artifact  : interface to update
+   * @param structure : structure of the system
+   */
+  void assignInterface(Interface artifact, DDDStructure structure) {
+    assignFields(artifact);
+    assignMethods(artifact);
+    assignImplInterfaces(artifact, structure);
+    assignAnnotations(artifact, structure);
+  }
+
+  /**
+   * Join the data into an enum.
+   *
+   * @param artifact  : enum to update
+   * @param structure : structure of the system
+   */
+  void assignEnum(Enum artifact, DDDStructure structure) {
+    assignFields(artifact);
+    assignAnnotations(artifact, structure);
+  }
+
+  /**
+   * Join the data into an annotation.
+   *
+   * @param artifact  : annotation to update
+   * @param structure : structure of the system
+   */
+  void assignAnnotation(Annotation artifact, DDDStructure structure) {
+    assignFields(artifact);
+    assignMethods(artifact);
+    assignAnnotations(artifact, structure);
+  }
+}
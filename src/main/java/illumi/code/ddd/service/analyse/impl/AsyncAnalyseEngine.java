@@ -0,0 +1,135 @@
+package illumi.code.ddd.service.analyse.impl;
+
+import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.DDDType;
+import illumi.code.ddd.model.artifacts.Annotation;
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.Enum;
+import illumi.code.ddd.model.artifacts.File;
+import illumi.code.ddd.model.artifacts.Interface;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.neo4j.driver.v1.Driver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the artifacts of a system with the async driver API and classifies each artifact
+ * as soon as its data arrives. At most maxInFlight artifacts are read at the same time.
+ * Like the synchronous modes, an artifact that cannot be read is classified without data,
+ * while a failed classification fails the analysis.
+ */
+class AsyncAnalyseEngine {
+  private static final Logger LOGGER = LoggerFactory.getLogger(AsyncAnalyseEngine.class);
+
+  private Driver driver;
+  private DDDStructure structure;
+  private String path;
+  private int maxInFlight;
+  private volatile boolean failed;
+
+  /**
+   * Constructor of AsyncAnalyseEngine.
+   *
+   * @param driver      : Neo4j-Driver
+   * @param structure   : structure with all artifacts of the system
+   * @param path        : fully qualified name of the system module
+   * @param maxInFlight : maximum number of artifacts read at the same time
+   */
+  AsyncAnalyseEngine(Driver driver, DDDStructure structure, String path, int maxInFlight) {
+    this.driver = driver;
+    this.structure = structure;
+    this.path = path;
+    this.maxInFlight = Math.max(1, maxInFlight);
+  }
+
+  /**
+   * Read and classify all classes, interfaces, enums and annotations of the structure.
+   *
+   * @return stage completed after the last artifact is classified, or completed
+   *         exceptionally with the first failed classification
+   */
+  CompletionStage<Void> analyse() {
+    return new BulkArtifactService(driver, path, structure.getPath())
+        .getSuperClassesAsync()
+        .thenCompose(superClasses -> {
+          markEntities(superClasses);
+          return analyseArtifacts();
+        });
+  }
+
+  /**
+   * A class with a super class of the system and the super class itself are entities.
+   * This has to be known before the first class is classified.
+   */
+  private void markEntities(Map<String, String> superClasses) {
+    superClasses.forEach((path, superPath) -> {
+      Class artifact = structure.findClass(path);
+      Class superClass = structure.findClass(superPath);
+      if (artifact != null && superClass != null) {
+        artifact.setType(DDDType.ENTITY);
+        superClass.setType(DDDType.ENTITY);
+      }
+    });
+  }
+
+  private CompletableFuture<Void> analyseArtifacts() {
+    List<File> files = new ArrayList<>(structure.getClasses());
+    files.addAll(structure.getInterfaces());
+    files.addAll(structure.getEnums());
+    files.addAll(structure.getAnnotations());
+
+    Iterator<File> pending = files.iterator();
+    CompletableFuture<?>[] lanes = new CompletableFuture[Math.min(maxInFlight, files.size())];
+    for (int i = 0; i < lanes.length; i++) {
+      lanes[i] = analyseNext(pending);
+    }
+    return CompletableFuture.allOf(lanes);
+  }
+
+  private CompletableFuture<Void> analyseNext(Iterator<File> pending) {
+    File item;
+    synchronized (pending) {
+      if (failed || !pending.hasNext()) {
+        return CompletableFuture.completedFuture(null);
+      }
+      item = pending.next();
+    }
+
+    return new JavaArtifactService(driver, item.getPath(), structure.getSymbols())
+        .getArtifactDataAsync(structure.getPath())
+        .exceptionally(e -> {
+          LOGGER.error("[READ] - ARTIFACT - {} - {}", item.getPath(), e.getMessage(), e);
+          return new ArtifactData();
+        })
+        .thenAcceptAsync(data -> analyse(item, data))
+        .whenComplete((ignore, e) -> {
+          if (e != null) {
+            failed = true;
+            LOGGER.error("[ANALYSE] - ARTIFACT - {} - {}", item.getPath(), e.getMessage(), e);
+          }
+        })
+        .toCompletableFuture()
+        .thenCompose(ignore -> analyseNext(pending));
+  }
+
+  private void analyse(File item, ArtifactData data) {
+    if (item instanceof Class) {
+      data.assignClass((Class) item, structure);
+      ((Class) item).setType(structure);
+    } else if (item instanceof Interface) {
+      data.assignInterface((Interface) item, structure);
+      ((Interface) item).setType();
+    } else if (item instanceof Enum) {
+      data.assignEnum((Enum) item, structure);
+    } else if (item instanceof Annotation) {
+      data.assignAnnotation((Annotation) item, structure);
+    }
+  }
+}
@@ -0,0 +1,248 @@
+package illumi.code.ddd.service.analyse.impl;
+
+import illumi.code.ddd.model.FqnTable;
+import illumi.code.ddd.model.artifacts.Field;
+import illumi.code.ddd.model.artifacts.Method;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionStage;
+
+import org.neo4j.driver.v1.AccessMode;
+import org.neo4j.driver.v1.Driver;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.StatementResultCursor;
+import org.neo4j.driver.v1.Values;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class BulkArtifactService {
+  private static final String MATCH_ARTIFACT =
+      "MATCH (root:Package)-[:CONTAINS*]->(a:Java)";
+
+  private static final String QUERY_FIELDS =
+      MATCH_ARTIFACT + "-[:DECLARES]->(f:Field) "
+          + "WHERE root.fqn = {path} "
+          + "RETURN DISTINCT a.fqn as artifact, "
+          + "f.name as name, f.signature as type, f.visibility as visibility";
+
+  private static final String QUERY_METHODS =
+      MATCH_ARTIFACT + "-[:DECLARES]->(m:Method) "
+          + "WHERE root.fqn = {path} "
+          + "RETURN DISTINCT a.fqn as artifact, "
+          + "m.visibility as visibility, m.name as name, m.signature as signature";
+
+  private static final String QUERY_SUPER =
+      MATCH_ARTIFACT + "-[:EXTENDS]->(super) "
+          + "WHERE root.fqn = {path} "
+          + "RETURN DISTINCT a.fqn as artifact, super.fqn as superClass";
+
+  private static final String QUERY_IMPL =
+      MATCH_ARTIFACT + "-[:IMPLEMENTS]->(i:Interface) "
+          + "WHERE root.fqn = {path} "
+          + "RETURN DISTINCT a.fqn as artifact, i.fqn as interface";
+
+  private static final String QUERY_PARENT_ANNOTATIONS =
+      MATCH_ARTIFACT + "-[:ANNOTATED_BY]->(annotation:Annotation)-[:OF_TYPE]->(type:Type) "
+          + "WHERE root.fqn = {path} "
+          + "RETURN DISTINCT a.fqn as artifact, type.fqn as annotation";
+
+  @SuppressWarnings("CheckStyle")
+  private static final String QUERY_CHILD_ANNOTATIONS =
+      MATCH_ARTIFACT + "-[:DECLARES]->(child:Java)-[:ANNOTATED_BY]->(annotation:Annotation)-[:OF_TYPE]->(type:Type) "
+          + "WHERE root.fqn = {path} AND (child:Field OR child:Method) "
+          + "RETURN DISTINCT a.fqn as artifact, type.fqn as annotation";
+
+  private static final String QUERY_DEPENDENCIES =
+      MATCH_ARTIFACT + "-[:DEPENDS_ON]->(dependency:Java) "
+          + "WHERE root.fqn = {path} AND dependency.fqn CONTAINS {rootPath} "
+          + "RETURN DISTINCT a.fqn as artifact, dependency.fqn as dependencies";
+
+  private static final String QUERY_FINGERPRINTS =
+      MATCH_ARTIFACT + " "
+          + "WHERE root.fqn = {path} "
+          + "AND (a:Class OR a:Interface OR a:Enum OR a:Annotation) "
+          + "RETURN DISTINCT a.fqn as artifact, a.md5 as md5";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BulkArtifactService.class);
+
+  private Driver driver;
+  private String path;
+  private String rootPath;
+  private FqnTable symbols;
+
+  private HashMap<String, ArtifactData> data;
+
+  /**
+   * Constructor of BulkArtifactService.
+   *
+   * @param driver   : Neo4j-Driver
+   * @param path     : fully qualified name of the system module
+   * @param rootPath : path of the system used to filter dependencies
+   */
+  BulkArtifactService(Driver driver, String path, String rootPath) {
+    this(driver, path, rootPath, new FqnTable());
+  }
+
+  /**
+   * Constructor of BulkArtifactService sharing the read names through a symbol table.
+   *
+   * @param driver   : Neo4j-Driver
+   * @param path     : fully qualified name of the system module
+   * @param rootPath : path of the system used to filter dependencies
+   * @param symbols  : symbol table of the analysis
+   */
+  BulkArtifactService(Driver driver, String path, String rootPath, FqnTable symbols) {
+    this.driver = driver;
+    this.path = path;
+    this.rootPath = rootPath;
+    this.symbols = symbols;
+    this.data = new HashMap<>();
+  }
+
+  /**
+   * Read fields, methods, relations and annotations of all artifacts of the system.
+   *
+   * @return artifact data by fully qualified name
+   */
+  Map<String, ArtifactData> getArtifactData() {
+    try (Session session = driver.session()) {
+      LOGGER.info("[READ] - FIELD - {}", path);
+      session.run(QUERY_FIELDS, Values.parameters("path", path))
+          .forEachRemaining(item -> {
+            if (!item.get("name").isNull()) {
+              get(item).addField(new Field(item, symbols));
+            }
+          });
+
+      LOGGER.info("[READ] - METHOD - {}", path);
+      session.run(QUERY_METHODS, Values.parameters("path", path))
+          .forEachRemaining(item -> {
+            if (!item.get("name").isNull()) {
+              get(item).addMethod(new Method(item));
+            }
+          });
+
+      LOGGER.info("[READ] - EXTEND - {}", path);
+      session.run(QUERY_SUPER, Values.parameters("path", path))
+          .forEachRemaining(item -> get(item).setSuperClass(intern(item, "superClass")));
+
+      LOGGER.info("[READ] - IMPLEMENT - {}", path);
+      session.run(QUERY_IMPL, Values.parameters("path", path))
+          .forEachRemaining(item -> get(item).addInterface(intern(item, "interface")));
+
+      LOGGER.info("[READ] - ANNOTATION - {}", path);
+      readAnnotations(session, QUERY_PARENT_ANNOTATIONS);
+      readAnnotations(session, QUERY_CHILD_ANNOTATIONS);
+
+      LOGGER.info("[READ] - DEPENDENCY - {}", path);
+      session.run(QUERY_DEPENDENCIES, Values.parameters("path", path, "rootPath", rootPath))
+          .forEachRemaining(item -> get(item).addDependency(intern(item, "dependencies")));
+    } catch (Exception e) {
+      LOGGER.error(e.getMessage(), e);
+    }
+    return data;
+  }
+
+  /**
+   * Read the super classes of all artifacts of the system asynchronously.
+   *
+   * @return fully qualified name of the super class by fully qualified name of the artifact
+   */
+  CompletionStage<Map<String, String>> getSuperClassesAsync() {
+    LOGGER.info("[READ] - EXTEND - {}", path);
+    Session session = driver.session(AccessMode.READ);
+    return session.<Map<String, String>>readTransactionAsync(tx ->
+        tx.runAsync(QUERY_SUPER, Values.parameters("path", path))
+            .thenCompose(StatementResultCursor::listAsync)
+            .thenApply(result -> {
+              HashMap<String, String> superClasses = new HashMap<>();
+              result.forEach(item -> superClasses.putIfAbsent(item.get("artifact").asString(),
+                  item.get("superClass").asString()));
+              return superClasses;
+            }))
+        .whenComplete((result, error) -> session.closeAsync());
+  }
+
+  /**
+   * Read the fingerprints (md5 of the scanned class file) of all artifacts of the system.
+   *
+   * @return fingerprint by fully qualified name, artifacts without fingerprint are missing
+   */
+  Map<String, String> getFingerprints() {
+    HashMap<String, String> fingerprints = new HashMap<>();
+    try (Session session = driver.session()) {
+      LOGGER.info("[READ] - FINGERPRINT - {}", path);
+      session.run(QUERY_FINGERPRINTS, Values.parameters("path", path))
+          .forEachRemaining(item -> {
+            if (!item.get("md5").isNull()) {
+              fingerprints.put(item.get("artifact").asString(), item.get("md5").asString());
+            }
+          });
+    } catch (Exception e) {
+      LOGGER.error(e.getMessage(), e);
+    }
+    return fingerprints;
+  }
+
+  /**
+   * Read a version token of the scanned graph of the system.
+   *
+   * @param query : optional Cypher query returning the token (e.g. a scan timestamp) as first column
+   * @return version token, null if the graph carries no version information
+   */
+  String getVersion(String query) {
+    if (query != null && !query.isEmpty()) {
+      try (Session session = driver.session()) {
+        LOGGER.info("[READ] - VERSION - {}", path);
+        List<Record> result = session.run(query, Values.parameters("path", path)).list();
+        if (!result.isEmpty() && !result.get(0).get(0).isNull()) {
+          return result.get(0).get(0).asObject().toString();
+        }
+      } catch (Exception e) {
+        LOGGER.error(e.getMessage(), e);
+      }
+      return null;
+    }
+
+    Map<String, String> fingerprints = getFingerprints();
+    if (fingerprints.isEmpty()) {
+      return null;
+    }
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      new TreeMap<>(fingerprints).forEach((artifact, md5) -> {
+        digest.update(artifact.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '=');
+        digest.update(md5.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+      });
+      StringBuilder version = new StringBuilder();
+      for (byte b : digest.digest()) {
+        version.append(String.format("%02x", b));
+      }
+      return version.toString();
+    } catch (Exception e) {
+      LOGGER.error(e.getMessage(), e);
+    }
+    return null;
+  }
+
+  private void readAnnotations(Session session, String query) {
+    session.run(query, Values.parameters("path", path))
+        .forEachRemaining(item -> get(item).addAnnotation(intern(item, "annotation")));
+  }
+
+  private ArtifactData get(Record item) {
+    return data.computeIfAbsent(intern(item, "artifact"), key -> new ArtifactData());
+  }
+
+  private String intern(Record item, String key) {
+    return symbols.internValue(item.get(key).asString());
+  }
+}
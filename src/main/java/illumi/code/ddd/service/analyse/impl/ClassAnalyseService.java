@@ -2,9 +2,13 @@ package illumi.code.ddd.service.analyse.impl;
 
 import illumi.code.ddd.model.DDDStructure;
 import illumi.code.ddd.model.DDDType;
+import illumi.code.ddd.model.DependencyGraph;
 import illumi.code.ddd.model.artifacts.Class;
 import illumi.code.ddd.model.artifacts.Field;
 import illumi.code.ddd.model.artifacts.Method;
+
+import java.util.BitSet;
+
 import org.apache.commons.lang3.StringUtils;
 
 public class ClassAnalyseService {
@@ -76,8 +80,7 @@ public class ClassAnalyseService {
   }
 
   private boolean isRepositoryOrFactory(Field field) {
-    String[] split = field.getType().split("[.]");
-    String type = split[split.length - 1];
+    String type = field.getTypeFqn().getSimpleName();
 
     return type.contains(REPOSITORY)
         || field.getName().contains(REPOSITORY.toLowerCase())
@@ -163,9 +166,10 @@ public class ClassAnalyseService {
   }
 
   private boolean containsEntityName() {
-    for (Class item : structure.getClasses()) {
+    BitSet names = structure.getClassNameIndex().match(this.artifact.getName());
+    for (int id = names.nextSetBit(0); id >= 0; id = names.nextSetBit(id + 1)) {
+      Class item = structure.getClasses().get(id);
       if (this.artifact != item
-          && this.artifact.getName().contains(item.getName())
           && !this.artifact.getName().equals(item.getName() + "s")) {
         return true;
       }
@@ -207,6 +211,22 @@ public class ClassAnalyseService {
   }
 
   private boolean onlyUsedByInfrastructure() {
+    DependencyGraph graph = structure.getDependencyGraph();
+    int id = graph.getId(artifact);
+    if (id >= 0) {
+      boolean[] usedByInfra = {false};
+      boolean[] usedByOther = {false};
+      graph.forEachUser(id, user -> {
+        if (graph.getArtifact(user).isTypeOf(DDDType.INFRASTRUCTURE)) {
+          usedByInfra[0] = true;
+        } else {
+          usedByOther[0] = true;
+        }
+      });
+      return usedByInfra[0] && !usedByOther[0];
+    }
+
+    // Not part of the structure, compare with every class
     boolean usedByInfra = false;
     for (Class item : structure.getClasses()) {
       if (usedByClass(item)) {
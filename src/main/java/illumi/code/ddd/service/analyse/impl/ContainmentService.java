@@ -0,0 +1,114 @@
+package illumi.code.ddd.service.analyse.impl;
+
+import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.artifacts.Annotation;
+import illumi.code.ddd.model.artifacts.Artifact;
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.Enum;
+import illumi.code.ddd.model.artifacts.Interface;
+import illumi.code.ddd.model.artifacts.Package;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.neo4j.driver.v1.Driver;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Values;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class ContainmentService {
+  private static final String QUERY_ARTIFACTS =
+      "MATCH (root:Package)-[:CONTAINS*0..]->(parent:Package)-[:CONTAINS]->(artifact) "
+          + "WHERE root.fqn = {path} "
+          + "AND (artifact:Package "
+          + "OR artifact:Class "
+          + "OR artifact:Interface "
+          + "OR artifact:Enum "
+          + "OR artifact:Annotation) "
+          + "RETURN DISTINCT parent.fqn as parent, "
+          + "artifact.name as name, "
+          + "artifact.fqn as path, "
+          + "labels(artifact) as types";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ContainmentService.class);
+
+  private Driver driver;
+  private String path;
+
+  ContainmentService(Driver driver, String path) {
+    this.driver = driver;
+    this.path = path;
+  }
+
+  /**
+   * Read all artifacts contained by the system module and add them to the structure.
+   *
+   * @param structure : structure to fill
+   * @return top level artifacts of the system module
+   */
+  List<Artifact> getArtifacts(DDDStructure structure) {
+    try (Session session = driver.session()) {
+      LOGGER.info("[READ] Artifacts of {}", path);
+      List<Record> result = session.run(QUERY_ARTIFACTS, Values.parameters("path", path)).list();
+      return convertResultToArtifacts(result, structure);
+    } catch (Exception e) {
+      LOGGER.error(e.getMessage(), e);
+    }
+    return new ArrayList<>();
+  }
+
+  private ArrayList<Artifact> convertResultToArtifacts(List<Record> result,
+                                                       DDDStructure structure) {
+    HashMap<String, Artifact> artifacts = new HashMap<>();
+    for (Record item : result) {
+      artifacts.computeIfAbsent(item.get("path").asString(),
+          key -> createArtifact(item, structure));
+    }
+
+    ArrayList<Artifact> root = new ArrayList<>();
+    for (Record item : result) {
+      String parent = item.get("parent").asString();
+      Artifact artifact = artifacts.get(item.get("path").asString());
+
+      if (parent.equals(path)) {
+        if (!root.contains(artifact)) {
+          root.add(artifact);
+        }
+      } else if (artifacts.get(parent) instanceof Package) {
+        ((Package) artifacts.get(parent)).addContains(artifact);
+      }
+    }
+    return root;
+  }
+
+  private Artifact createArtifact(Record item, DDDStructure structure) {
+    List<Object> types = item.get("types").asList();
+    Artifact artifact;
+
+    if (types.contains("Package")) {
+      artifact = new Package(item);
+      structure.addPackage((Package) artifact);
+      LOGGER.info("[CREATE] - PACKAGE - {}", artifact.getPath());
+    } else if (types.contains("Class")) {
+      artifact = new Class(item);
+      structure.addClass((Class) artifact);
+      LOGGER.info("[CREATE] - CLASS - {}", artifact.getPath());
+    } else if (types.contains("Interface")) {
+      artifact = new Interface(item);
+      structure.addInterface((Interface) artifact);
+      LOGGER.info("[CREATE] - INTERFACE - {}", artifact.getPath());
+    } else if (types.contains("Enum")) {
+      artifact = new Enum(item);
+      structure.addEnum((Enum) artifact);
+      LOGGER.info("[CREATE] - ENUM - {}", artifact.getPath());
+    } else {
+      artifact = new Annotation(item);
+      structure.addAnnotation((Annotation) artifact);
+      LOGGER.info("[CREATE] - ANNOTATION - {}", artifact.getPath());
+    }
+    return artifact;
+  }
+}
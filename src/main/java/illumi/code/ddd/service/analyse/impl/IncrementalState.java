@@ -0,0 +1,168 @@
+package illumi.code.ddd.service.analyse.impl;
+
+import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.DDDType;
+import illumi.code.ddd.model.artifacts.Artifact;
+import illumi.code.ddd.model.artifacts.File;
+import illumi.code.ddd.model.artifacts.Package;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Results of the last analysis of a system, used to skip the artifacts that did not change
+ * since then. All values are kept by fully qualified name, never as artifacts, since the
+ * refactoring modifies the analysed artifacts afterwards.
+ */
+class IncrementalState {
+  private Map<String, String> fingerprints;
+  private Map<String, ArtifactData> data;
+  private ConcurrentHashMap<String, DDDType> types;
+  private ConcurrentHashMap<String, DDDType> classifiedTypes;
+  private Set<String> classes;
+  private List<String> domains;
+  private HashMap<String, List<String>> contents;
+  private Set<String> aggregateRoots;
+
+  IncrementalState(Map<String, String> fingerprints, Map<String, ArtifactData> data) {
+    this.fingerprints = fingerprints;
+    this.data = data;
+    this.types = new ConcurrentHashMap<>();
+    this.classifiedTypes = new ConcurrentHashMap<>();
+    this.classes = new HashSet<>();
+    this.domains = new ArrayList<>();
+    this.contents = new HashMap<>();
+    this.aggregateRoots = new HashSet<>();
+  }
+
+  /**
+   * An artifact has not changed if its fingerprint (the md5 of the scanned class file) is
+   * known and equal to the last scan.
+   *
+   * @param path        : fully qualified name of the artifact
+   * @param fingerprint : current fingerprint or null
+   * @return true if the data of the last analysis can be used
+   */
+  boolean isUnchanged(String path, String fingerprint) {
+    return fingerprint != null
+        && fingerprint.equals(fingerprints.get(path))
+        && data.containsKey(path);
+  }
+
+  ArtifactData getData(String path) {
+    return data.get(path).copy();
+  }
+
+  /**
+   * Record the type of the artifact before and after its classification.
+   *
+   * @param artifact : classified artifact
+   * @param type     : type before the classification
+   */
+  void setClassified(File artifact, DDDType type) {
+    if (type != null) {
+      types.put(artifact.getPath(), type);
+    }
+    if (artifact.getType() != null) {
+      classifiedTypes.put(artifact.getPath(), artifact.getType());
+    }
+  }
+
+  /**
+   * Record the domains and the containment of the structure.
+   *
+   * @param structure : analysed structure
+   */
+  void setDomains(DDDStructure structure) {
+    classes.addAll(paths(structure.getClasses()));
+    domains.addAll(structure.getDomains());
+    structure.getPackages()
+        .forEach(module -> contents.put(module.getPath(), paths(module.getContains())));
+  }
+
+  /**
+   * Record the aggregate roots of the structure.
+   *
+   * @param structure : analysed structure
+   */
+  void setAggregateRoots(DDDStructure structure) {
+    structure.getClasses().stream()
+        .filter(item -> item.isTypeOf(DDDType.AGGREGATE_ROOT))
+        .forEach(item -> aggregateRoots.add(item.getPath()));
+  }
+
+  /**
+   * The classification of a class depends on the names of all classes.
+   *
+   * @param structure : current structure
+   * @return true if the structure contains the same classes as the last analysis
+   */
+  boolean hasSameClasses(DDDStructure structure) {
+    return classes.equals(new HashSet<>(paths(structure.getClasses())));
+  }
+
+  /**
+   * The aggregate roots depend on the domains of the structure.
+   *
+   * @param structure : current structure
+   * @return true if the structure contains the same domains as the last analysis
+   */
+  boolean hasSameDomains(DDDStructure structure) {
+    return domains.equals(structure.getDomains());
+  }
+
+  /**
+   * Apart from the names of all classes, the classification of an artifact depends on its
+   * data and its type before the classification only.
+   *
+   * @param artifact : artifact to classify
+   * @param current  : current data of the artifact
+   * @return classified type of the last analysis or null if the artifact has to be classified
+   */
+  DDDType getClassifiedType(File artifact, ArtifactData current) {
+    if (current.contentEquals(data.get(artifact.getPath()))
+        && artifact.getType() == types.get(artifact.getPath())) {
+      return classifiedTypes.get(artifact.getPath());
+    }
+    return null;
+  }
+
+  /**
+   * Apart from the domains and the names of all classes, the aggregate root of a package
+   * depends on the data and the types of its artifacts only.
+   *
+   * @param module  : package to analyse
+   * @param current : current data of all artifacts
+   * @return true if the aggregate root of the last analysis can be used
+   */
+  boolean isUnchanged(Package module, Map<String, ArtifactData> current) {
+    if (!paths(module.getContains()).equals(contents.get(module.getPath()))) {
+      return false;
+    }
+    for (Artifact artifact : module.getContains()) {
+      if (artifact instanceof File
+          && (artifact.getType() != classifiedTypes.get(artifact.getPath())
+          || current.get(artifact.getPath()) == null
+          || !current.get(artifact.getPath()).contentEquals(data.get(artifact.getPath())))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  boolean isAggregateRoot(String path) {
+    return aggregateRoots.contains(path);
+  }
+
+  private static <T extends Artifact> List<String> paths(List<T> artifacts) {
+    return artifacts.stream()
+        .map(Artifact::getPath)
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,25 @@
+package illumi.code.ddd.service.analyse.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Singleton;
+
+/**
+ * States of the last incremental analysis of each system, shared by all analysis sessions.
+ */
+@Singleton
+public class IncrementalStateStore {
+
+  private final ConcurrentHashMap<String, IncrementalState> states;
+
+  public IncrementalStateStore() {
+    this.states = new ConcurrentHashMap<>();
+  }
+
+  IncrementalState get(String path) {
+    return states.get(path);
+  }
+
+  void put(String path, IncrementalState state) {
+    states.put(path, state);
+  }
+}
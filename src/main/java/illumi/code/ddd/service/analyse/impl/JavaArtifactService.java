@@ -1,5 +1,6 @@
 package illumi.code.ddd.service.analyse.impl;
 
+import illumi.code.ddd.model.FqnTable;
 import illumi.code.ddd.model.artifacts.Annotation;
 import illumi.code.ddd.model.artifacts.Class;
 import illumi.code.ddd.model.artifacts.Field;
@@ -10,10 +11,16 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
+import org.neo4j.driver.v1.AccessMode;
 import org.neo4j.driver.v1.Driver;
+import org.neo4j.driver.v1.Record;
 import org.neo4j.driver.v1.Session;
 import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.StatementResultCursor;
+import org.neo4j.driver.v1.Transaction;
 import org.neo4j.driver.v1.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,11 +66,93 @@ public class JavaArtifactService {
 
   private Driver driver;
   private String path;
+  private FqnTable symbols;
 
 
   public JavaArtifactService(Driver driver, String path) {
+    this(driver, path, null);
+  }
+
+  /**
+   * Constructor of JavaArtifactService, the types of the fields are shared through the symbol
+   * table.
+   *
+   * @param driver  : Neo4j-Driver
+   * @param path    : fully qualified name of the artifact
+   * @param symbols : symbol table of the analysis, null to create own types
+   */
+  JavaArtifactService(Driver driver, String path, FqnTable symbols) {
     this.driver = driver;
     this.path = path;
+    this.symbols = symbols;
+  }
+
+  /**
+   * Read fields, methods, relations and annotations of the artifact within one read
+   * transaction. All statements are pipelined and their results are consumed together.
+   *
+   * @param rootPath : fully qualified name of the system
+   * @return artifact data
+   */
+  ArtifactData getArtifactData(String rootPath) {
+    try {
+      LOGGER.info("[READ] - ARTIFACT - {}", path);
+      return getArtifactDataAsync(rootPath).toCompletableFuture().join();
+    } catch (Exception e) {
+      LOGGER.error(e.getMessage(), e);
+    }
+    return new ArtifactData();
+  }
+
+  /**
+   * Read fields, methods, relations and annotations of the artifact asynchronously.
+   *
+   * @param rootPath : fully qualified name of the system
+   * @return artifact data as soon as all results are available
+   */
+  CompletionStage<ArtifactData> getArtifactDataAsync(String rootPath) {
+    Map<String, Object> params = new HashMap<>();
+    params.put("rootPath", rootPath);
+    params.put("path", path);
+
+    Session session = driver.session(AccessMode.READ);
+    return session.<ArtifactData>readTransactionAsync(tx -> {
+      CompletableFuture<List<Record>> fields = list(tx, QUERY_FIELDS, params);
+      CompletableFuture<List<Record>> methods = list(tx, QUERY_METHODS, params);
+      CompletableFuture<List<Record>> superClass = list(tx, QUERY_SUPER, params);
+      CompletableFuture<List<Record>> interfaces = list(tx, QUERY_IMPL, params);
+      CompletableFuture<List<Record>> parentAnnotations =
+          list(tx, QUERY_PARENT_ANNOTATIONS, params);
+      CompletableFuture<List<Record>> childAnnotations =
+          list(tx, QUERY_CHILD_ANNOTATIONS, params);
+      CompletableFuture<List<Record>> dependencies = list(tx, QUERY_DEPENDENCIES, params);
+
+      return CompletableFuture.allOf(fields, methods, superClass, interfaces,
+          parentAnnotations, childAnnotations, dependencies)
+          .thenApply(ignore -> {
+            ArtifactData data = new ArtifactData();
+            convertResultToFields(fields.join()).forEach(data::addField);
+            convertResultToMethods(methods.join()).forEach(data::addMethod);
+            superClass.join().forEach(item ->
+                data.setSuperClass(item.get("superClass").asString()));
+            interfaces.join().forEach(item ->
+                data.addInterface(item.get("interface").asString()));
+            parentAnnotations.join().forEach(item ->
+                data.addAnnotation(item.get("annotation").asString()));
+            childAnnotations.join().forEach(item ->
+                data.addAnnotation(item.get("annotation").asString()));
+            dependencies.join().forEach(item ->
+                data.addDependency(item.get("dependencies").asString()));
+            return data;
+          });
+    }).whenComplete((data, error) -> session.closeAsync());
+  }
+
+  private CompletableFuture<List<Record>> list(Transaction tx, String query,
+                                               Map<String, Object> params) {
+    return tx.runAsync(query, params)
+        .thenCompose(StatementResultCursor::listAsync)
+        .toCompletableFuture();
   }
 
   /**
@@ -110,12 +199,16 @@ public class JavaArtifactService {
   }
 
   private ArrayList<Field> convertResultToFields(StatementResult result) {
+    return convertResultToFields(result.list());
+  }
+
+  private ArrayList<Field> convertResultToFields(List<Record> result) {
     ArrayList<Field> fields = new ArrayList<>();
     result.stream()
         .parallel()
         .forEachOrdered(item -> {
           if (!item.get("name").isNull()) {
-            fields.add(new Field(item));
+            fields.add(new Field(item, symbols));
           }
         });
     return fields;
@@ -138,6 +231,10 @@ public class JavaArtifactService {
   }
 
   private ArrayList<Method> convertResultToMethods(StatementResult result) {
+    return convertResultToMethods(result.list());
+  }
+
+  private ArrayList<Method> convertResultToMethods(List<Record> result) {
     ArrayList<Method> methods = new ArrayList<>();
     result.stream()
         .parallel()
@@ -2,12 +2,16 @@ package illumi.code.ddd.service.analyse.impl;
 
 import illumi.code.ddd.model.DDDStructure;
 import illumi.code.ddd.model.DDDType;
+import illumi.code.ddd.model.DependencyGraph;
 import illumi.code.ddd.model.artifacts.Artifact;
 import illumi.code.ddd.model.artifacts.Class;
 import illumi.code.ddd.model.artifacts.Field;
 import illumi.code.ddd.model.artifacts.Package;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 public class PackageAnalyseService {
   private Package module;
@@ -115,13 +119,29 @@ public class PackageAnalyseService {
     return entities;
   }
 
+  // The entities using an entity are read from the reverse rows of the dependency graph,
+  // entities which are not part of the structure are compared with every other entity.
   private void setUsed(ArrayList<Class> entities) {
+    DependencyGraph graph = structure.getDependencyGraph();
+    Set<Artifact> entitySet = Collections.newSetFromMap(new IdentityHashMap<>());
+    entitySet.addAll(entities);
+
     entities.stream()
         .parallel()
         .forEachOrdered(artifact -> {
-          for (Class entity : entities) {
-            if (entity != artifact && entity.getDependencies().contains(artifact.getPath())) {
-              artifact.addUsed(entity.getPath());
+          int id = graph.getId(artifact);
+          if (id >= 0) {
+            graph.forEachDependent(id, dependent -> {
+              Artifact entity = graph.getArtifact(dependent);
+              if (entity != artifact && entitySet.contains(entity)) {
+                artifact.addUsed(entity.getPath());
+              }
+            });
+          } else {
+            for (Class entity : entities) {
+              if (entity != artifact && entity.getDependencies().contains(artifact.getPath())) {
+                artifact.addUsed(entity.getPath());
+              }
             }
           }
         });
@@ -0,0 +1,209 @@
+package illumi.code.ddd.service.analyse.impl;
+
+import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.FqnTable;
+import illumi.code.ddd.model.artifacts.Annotation;
+import illumi.code.ddd.model.artifacts.Artifact;
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.Enum;
+import illumi.code.ddd.model.artifacts.Field;
+import illumi.code.ddd.model.artifacts.Interface;
+import illumi.code.ddd.model.artifacts.Method;
+import illumi.code.ddd.model.artifacts.Package;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds the structure from a memory-mapped snapshot file written by {@link SnapshotWriter}.
+ * Only the artifacts, super classes, interfaces and annotations are decoded up front; fields,
+ * methods and dependencies are decoded from the mapped file on first access of an artifact.
+ */
+class SnapshotReader {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotReader.class);
+
+  private Path file;
+
+  private ByteBuffer buffer;
+  private int stringOffsets;
+  private int stringBytes;
+  private String[] strings;
+  private FqnTable symbols;
+
+  SnapshotReader(Path file) {
+    this.file = file;
+  }
+
+  /**
+   * Map the snapshot, add all artifacts to the structure and set its path.
+   *
+   * @param structure : structure to fill
+   * @return artifact data by fully qualified name
+   */
+  Map<String, ArtifactData> read(DDDStructure structure) {
+    HashMap<String, ArtifactData> data = new HashMap<>();
+    symbols = structure.getSymbols();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      LOGGER.info("[READ] - SNAPSHOT - {}", file);
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt(0) != SnapshotWriter.MAGIC
+          || buffer.getInt(4) != SnapshotWriter.VERSION) {
+        throw new IOException("Unsupported snapshot " + file);
+      }
+
+      int stringCount = buffer.getInt(12);
+      int artifactCount = buffer.getInt(16);
+      strings = new String[stringCount];
+      stringOffsets = SnapshotWriter.HEADER_SIZE;
+      stringBytes = stringOffsets + (stringCount + 1) * Integer.BYTES;
+
+      structure.setPath(string(buffer.getInt(8)));
+
+      int position = stringBytes + buffer.getInt(stringOffsets + stringCount * Integer.BYTES);
+      Artifact[] artifacts = new Artifact[artifactCount];
+      ArrayList<Artifact> root = new ArrayList<>();
+      for (int i = 0; i < artifactCount; i++, position += SnapshotWriter.ARTIFACT_SIZE) {
+        artifacts[i] = createArtifact(buffer.getInt(position),
+            string(buffer.getInt(position + 4)), string(buffer.getInt(position + 8)));
+
+        int parent = buffer.getInt(position + 12);
+        if (parent == SnapshotWriter.NO_PARENT) {
+          root.add(artifacts[i]);
+        } else if (parent >= 0) {
+          ((Package) artifacts[parent]).addContains(artifacts[i]);
+        }
+        data.put(artifacts[i].getPath(), readData(buffer.getInt(position + 16)));
+      }
+      structure.setStructure(root);
+
+      position = readIndexes(position, artifacts, item -> structure.addPackage((Package) item));
+      position = readIndexes(position, artifacts, item -> structure.addClass((Class) item));
+      position = readIndexes(position, artifacts,
+          item -> structure.addInterface((Interface) item));
+      position = readIndexes(position, artifacts, item -> structure.addEnum((Enum) item));
+      readIndexes(position, artifacts, item -> structure.addAnnotation((Annotation) item));
+    } catch (Exception e) {
+      LOGGER.error(e.getMessage(), e);
+    }
+    return data;
+  }
+
+  private int readIndexes(int position, Artifact[] artifacts, Consumer<Artifact> add) {
+    int size = buffer.getInt(position);
+    for (int i = 1; i <= size; i++) {
+      add.accept(artifacts[buffer.getInt(position + i * Integer.BYTES)]);
+    }
+    return position + (size + 1) * Integer.BYTES;
+  }
+
+  private ArtifactData readData(int offset) {
+    ArtifactData data = new ArtifactData();
+
+    int fields = offset;
+    int methods = skipTriples(fields);
+    int superClass = skipTriples(methods);
+    int interfaces = superClass + Integer.BYTES;
+    int annotations = skipIds(interfaces);
+    int dependencies = skipIds(annotations);
+
+    if (buffer.getInt(fields) > 0) {
+      data.setFieldSource(() -> readFields(fields));
+    }
+    if (buffer.getInt(methods) > 0) {
+      data.setMethodSource(() -> readMethods(methods));
+    }
+    if (buffer.getInt(superClass) >= 0) {
+      data.setSuperClass(string(buffer.getInt(superClass)));
+    }
+    readIds(interfaces).forEach(data::addInterface);
+    readIds(annotations).forEach(data::addAnnotation);
+    if (buffer.getInt(dependencies) > 0) {
+      data.setDependencySource(() -> readIds(dependencies));
+    }
+    return data;
+  }
+
+  private int skipTriples(int position) {
+    return position + (3 * buffer.getInt(position) + 1) * Integer.BYTES;
+  }
+
+  private int skipIds(int position) {
+    return position + (buffer.getInt(position) + 1) * Integer.BYTES;
+  }
+
+  private List<Field> readFields(int position) {
+    int size = buffer.getInt(position);
+    ArrayList<Field> fields = new ArrayList<>(size);
+    for (int i = 0, item = position + 4; i < size; i++, item += 12) {
+      fields.add(new Field(string(buffer.getInt(item)), string(buffer.getInt(item + 4)),
+          symbols.intern(string(buffer.getInt(item + 8)))));
+    }
+    return fields;
+  }
+
+  private List<Method> readMethods(int position) {
+    int size = buffer.getInt(position);
+    ArrayList<Method> methods = new ArrayList<>(size);
+    for (int i = 0, item = position + 4; i < size; i++, item += 12) {
+      methods.add(new Method(string(buffer.getInt(item)), string(buffer.getInt(item + 4)),
+          string(buffer.getInt(item + 8))));
+    }
+    return methods;
+  }
+
+  private List<String> readIds(int position) {
+    int size = buffer.getInt(position);
+    ArrayList<String> values = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      values.add(string(buffer.getInt(position + i * Integer.BYTES)));
+    }
+    return values;
+  }
+
+  private String string(int id) {
+    if (id < 0) {
+      return null;
+    }
+    String value = strings[id];
+    if (value == null) {
+      int start = buffer.getInt(stringOffsets + id * Integer.BYTES);
+      int end = buffer.getInt(stringOffsets + (id + 1) * Integer.BYTES);
+      byte[] bytes = new byte[end - start];
+      ByteBuffer view = buffer.duplicate();
+      view.position(stringBytes + start);
+      view.get(bytes);
+      value = new String(bytes, StandardCharsets.UTF_8);
+      strings[id] = value;
+    }
+    return value;
+  }
+
+  private Artifact createArtifact(int kind, String name, String path) {
+    switch (kind) {
+      case SnapshotWriter.PACKAGE:
+        return new Package(name, path);
+      case SnapshotWriter.CLASS:
+        return new Class(name, path);
+      case SnapshotWriter.INTERFACE:
+        return new Interface(name, path);
+      case SnapshotWriter.ENUM:
+        return new Enum(name, path);
+      case SnapshotWriter.ANNOTATION:
+        return new Annotation(name, path);
+      default:
+        throw new IllegalArgumentException("Unknown artifact kind " + kind);
+    }
+  }
+}
@@ -0,0 +1,284 @@
+package illumi.code.ddd.service.analyse.impl;
+
+import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.artifacts.Annotation;
+import illumi.code.ddd.model.artifacts.Artifact;
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.Enum;
+import illumi.code.ddd.model.artifacts.Field;
+import illumi.code.ddd.model.artifacts.Interface;
+import illumi.code.ddd.model.artifacts.Method;
+import illumi.code.ddd.model.artifacts.Package;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the subgraph needed by the analysis into a binary snapshot file.
+ *
+ * <p>All values are ints, so every record has a fixed width and can be read at its offset
+ * from a memory-mapped file. Layout:
+ * <ul>
+ *   <li>header: magic, version, system path, number of strings, number of artifacts</li>
+ *   <li>string table: offset of each string plus end offset, followed by the UTF-8 bytes.
+ *       Strings are referenced by their index, -1 stands for null</li>
+ *   <li>artifacts in containment order: kind, name, path, parent, offset of the data</li>
+ *   <li>order of the package, class, interface, enum and annotation lists of the structure
+ *       as artifact indexes</li>
+ *   <li>data of each artifact: fields and methods as triples, super class, interfaces,
+ *       annotations and dependencies, each list prefixed by its size</li>
+ * </ul>
+ */
+class SnapshotWriter {
+  static final int MAGIC = 0x44444453;
+  static final int VERSION = 2;
+
+  static final int HEADER_SIZE = 5 * Integer.BYTES;
+  static final int ARTIFACT_SIZE = 5 * Integer.BYTES;
+
+  static final int NO_PARENT = -1;
+  static final int NOT_CONTAINED = -2;
+
+  static final int PACKAGE = 0;
+  static final int CLASS = 1;
+  static final int INTERFACE = 2;
+  static final int ENUM = 3;
+  static final int ANNOTATION = 4;
+
+  private Path file;
+
+  private ArrayList<String> strings;
+  private HashMap<String, Integer> stringIds;
+
+  private ArrayList<Artifact> artifacts;
+  private ArrayList<Integer> parents;
+  private IdentityHashMap<Artifact, Integer> indexes;
+
+  SnapshotWriter(Path file) {
+    this.file = file;
+    this.strings = new ArrayList<>();
+    this.stringIds = new HashMap<>();
+    this.artifacts = new ArrayList<>();
+    this.parents = new ArrayList<>();
+    this.indexes = new IdentityHashMap<>();
+  }
+
+  /**
+   * Write the artifacts of the structure and their raw data into the snapshot file.
+   *
+   * @param path      : fully qualified name of the system module
+   * @param structure : structure with all artifacts of the system
+   * @param data      : artifact data by fully qualified name
+   * @throws IOException if the file can not be written
+   */
+  void write(String path, DDDStructure structure, Map<String, ArtifactData> data)
+      throws IOException {
+    collect(structure);
+
+    int systemPath = id(path);
+    for (Artifact artifact : artifacts) {
+      id(artifact.getName());
+      id(artifact.getPath());
+      collectStrings(data.get(artifact.getPath()));
+    }
+
+    byte[][] encoded = new byte[strings.size()][];
+    int stringBytes = 0;
+    for (int i = 0; i < encoded.length; i++) {
+      encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+      stringBytes += encoded[i].length;
+    }
+
+    long offset = (long) HEADER_SIZE
+        + (long) (strings.size() + 1) * Integer.BYTES + stringBytes
+        + (long) artifacts.size() * ARTIFACT_SIZE
+        + (long) (5 + structure.getPackages().size() + structure.getClasses().size()
+        + structure.getInterfaces().size() + structure.getEnums().size()
+        + structure.getAnnotations().size()) * Integer.BYTES;
+
+    int[] dataOffsets = new int[artifacts.size()];
+    for (int i = 0; i < artifacts.size(); i++) {
+      dataOffsets[i] = (int) offset;
+      offset += dataSize(data.get(artifacts.get(i).getPath()));
+    }
+    if (offset > Integer.MAX_VALUE) {
+      throw new IOException("Snapshot exceeds 2 GB: " + file);
+    }
+
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(file)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(systemPath);
+      out.writeInt(strings.size());
+      out.writeInt(artifacts.size());
+
+      int stringOffset = 0;
+      for (byte[] value : encoded) {
+        out.writeInt(stringOffset);
+        stringOffset += value.length;
+      }
+      out.writeInt(stringOffset);
+      for (byte[] value : encoded) {
+        out.write(value);
+      }
+
+      for (int i = 0; i < artifacts.size(); i++) {
+        Artifact artifact = artifacts.get(i);
+        out.writeInt(kind(artifact));
+        out.writeInt(id(artifact.getName()));
+        out.writeInt(id(artifact.getPath()));
+        out.writeInt(parents.get(i));
+        out.writeInt(dataOffsets[i]);
+      }
+
+      writeIndexes(out, structure.getPackages());
+      writeIndexes(out, structure.getClasses());
+      writeIndexes(out, structure.getInterfaces());
+      writeIndexes(out, structure.getEnums());
+      writeIndexes(out, structure.getAnnotations());
+
+      for (Artifact artifact : artifacts) {
+        writeData(out, data.get(artifact.getPath()));
+      }
+    }
+  }
+
+  private void collect(DDDStructure structure) {
+    for (Artifact artifact : structure.getStructure()) {
+      collect(artifact, NO_PARENT);
+    }
+
+    List<Artifact> all = new ArrayList<>(structure.getPackages());
+    all.addAll(structure.getClasses());
+    all.addAll(structure.getInterfaces());
+    all.addAll(structure.getEnums());
+    all.addAll(structure.getAnnotations());
+    for (Artifact artifact : all) {
+      if (!indexes.containsKey(artifact)) {
+        collect(artifact, NOT_CONTAINED);
+      }
+    }
+  }
+
+  private void collect(Artifact artifact, int parent) {
+    if (indexes.containsKey(artifact)) {
+      return;
+    }
+    int index = artifacts.size();
+    indexes.put(artifact, index);
+    artifacts.add(artifact);
+    parents.add(parent);
+
+    if (artifact instanceof Package) {
+      for (Artifact child : ((Package) artifact).getContains()) {
+        collect(child, index);
+      }
+    }
+  }
+
+  private void writeIndexes(DataOutputStream out, List<? extends Artifact> list)
+      throws IOException {
+    out.writeInt(list.size());
+    for (Artifact artifact : list) {
+      out.writeInt(indexes.get(artifact));
+    }
+  }
+
+  private void collectStrings(ArtifactData data) {
+    if (data != null) {
+      for (Field field : data.getFields()) {
+        id(field.getVisibility());
+        id(field.getName());
+        id(field.getType());
+      }
+      for (Method method : data.getMethods()) {
+        id(method.getVisibility());
+        id(method.getName());
+        id(method.getSignature());
+      }
+      id(data.getSuperClass());
+      data.getInterfaces().forEach(this::id);
+      data.getAnnotations().forEach(this::id);
+      data.getDependencies().forEach(this::id);
+    }
+  }
+
+  private long dataSize(ArtifactData data) {
+    if (data == null) {
+      return 6L * Integer.BYTES;
+    }
+    return (6L + 3L * data.getFields().size() + 3L * data.getMethods().size()
+        + data.getInterfaces().size() + data.getAnnotations().size()
+        + data.getDependencies().size()) * Integer.BYTES;
+  }
+
+  private void writeData(DataOutputStream out, ArtifactData data) throws IOException {
+    ArtifactData item = data != null ? data : new ArtifactData();
+
+    out.writeInt(item.getFields().size());
+    for (Field field : item.getFields()) {
+      out.writeInt(id(field.getVisibility()));
+      out.writeInt(id(field.getName()));
+      out.writeInt(id(field.getType()));
+    }
+
+    out.writeInt(item.getMethods().size());
+    for (Method method : item.getMethods()) {
+      out.writeInt(id(method.getVisibility()));
+      out.writeInt(id(method.getName()));
+      out.writeInt(id(method.getSignature()));
+    }
+
+    out.writeInt(id(item.getSuperClass()));
+    writeIds(out, item.getInterfaces());
+    writeIds(out, item.getAnnotations());
+    writeIds(out, item.getDependencies());
+  }
+
+  private void writeIds(DataOutputStream out, List<String> values) throws IOException {
+    out.writeInt(values.size());
+    for (String value : values) {
+      out.writeInt(id(value));
+    }
+  }
+
+  private int id(String value) {
+    if (value == null) {
+      return -1;
+    }
+    return stringIds.computeIfAbsent(value, key -> {
+      strings.add(key);
+      return strings.size() - 1;
+    });
+  }
+
+  private int kind(Artifact artifact) {
+    if (artifact instanceof Package) {
+      return PACKAGE;
+    } else if (artifact instanceof Class) {
+      return CLASS;
+    } else if (artifact instanceof Interface) {
+      return INTERFACE;
+    } else if (artifact instanceof Enum) {
+      return ENUM;
+    } else if (artifact instanceof Annotation) {
+      return ANNOTATION;
+    }
+    throw new IllegalArgumentException("Unknown artifact " + artifact.getPath());
+  }
+}
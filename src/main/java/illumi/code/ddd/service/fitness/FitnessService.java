@@ -1,11 +1,19 @@
 package illumi.code.ddd.service.fitness;
 
 import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.artifacts.Artifact;
+
+import java.util.function.Consumer;
+
 import org.json.JSONArray;
 
 public interface FitnessService {
 
   void setStructure(DDDStructure structure);
 
+  void evaluate();
+
+  void evaluate(Consumer<Artifact> evaluated);
+
   JSONArray getStructureWithFitness();
 }
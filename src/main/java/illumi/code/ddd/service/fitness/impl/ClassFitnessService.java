@@ -2,7 +2,7 @@ package illumi.code.ddd.service.fitness.impl;
 
 import illumi.code.ddd.model.DDDStructure;
 import illumi.code.ddd.model.DDDType;
-import illumi.code.ddd.model.artifacts.Artifact;
+import illumi.code.ddd.model.TypeIndex;
 import illumi.code.ddd.model.artifacts.Class;
 import illumi.code.ddd.model.artifacts.Field;
 import illumi.code.ddd.model.artifacts.Interface;
@@ -141,45 +141,22 @@ public class ClassFitnessService {
   }
 
   private void evaluateDomainStructure() {
-    boolean repoAvailable = false;
-    boolean factoryAvailable = false;
-    boolean serviceAvailable = false;
-
-    for (Artifact tmpArtifact : structure.getAllArtifacts()) {
-      if (isAggregateRootRepository(tmpArtifact)) {
-        repoAvailable = true;
-      } else if (isAggregateRootFactory(tmpArtifact)) {
-        factoryAvailable = true;
-      } else if (isAggregateRootService(tmpArtifact)) {
-        serviceAvailable = true;
-      }
-    }
+    TypeIndex index = structure.getTypeIndex();
+    String name = artifact.getLowerName();
 
-    fitness.addIssue(repoAvailable, DDDIssueType.MAJOR,
+    fitness.addIssue(index.findNameContaining(DDDType.REPOSITORY, name) != null,
+        DDDIssueType.MAJOR,
         String.format("No repository of the aggregate root '%s' is available", artifact.getName()));
 
-    fitness.addIssue(factoryAvailable, DDDIssueType.MAJOR,
+    fitness.addIssue(index.findNameContaining(DDDType.FACTORY, name) != null,
+        DDDIssueType.MAJOR,
         String.format("No factory of the aggregate root '%s' is available", artifact.getName()));
 
-    fitness.addIssue(serviceAvailable, DDDIssueType.MAJOR,
+    fitness.addIssue(index.findNameContaining(DDDType.SERVICE, name) != null,
+        DDDIssueType.MAJOR,
         String.format("No service of the aggregate root '%s' is available", artifact.getName()));
   }
 
-  private boolean isAggregateRootRepository(Artifact artifact) {
-    return artifact.isTypeOf(DDDType.REPOSITORY)
-        && artifact.getLowerName().contains(this.artifact.getLowerName());
-  }
-
-  private boolean isAggregateRootFactory(Artifact artifact) {
-    return artifact.isTypeOf(DDDType.FACTORY)
-        && artifact.getLowerName().contains(this.artifact.getLowerName());
-  }
-
-  private boolean isAggregateRootService(Artifact artifact) {
-    return artifact.isTypeOf(DDDType.SERVICE)
-        && artifact.getLowerName().contains(this.artifact.getLowerName());
-  }
-
   private void evaluateDomainEvent() {
     LOGGER.info("[EVALUATE] - CLASS - DDD:DOMAIN_EVENT:{}", artifact.getName());
 
@@ -1,9 +1,10 @@
 package illumi.code.ddd.service.fitness.impl;
 
 import illumi.code.ddd.model.DDDStructure;
-import illumi.code.ddd.model.artifacts.Interface;
+import illumi.code.ddd.model.artifacts.Artifact;
 import illumi.code.ddd.service.fitness.FitnessService;
 
+import java.util.function.Consumer;
 import javax.inject.Inject;
 
 import org.json.JSONArray;
@@ -25,42 +26,67 @@ public class FitnessServiceImpl implements FitnessService {
     this.structure = structure;
   }
 
+  @Override
+  public void evaluate() {
+    evaluate(artifact -> { });
+  }
+
+  /**
+   * Evaluate the fitness of all artifacts.
+   *
+   * @param evaluated : called (from parallel threads) as soon as an artifact is evaluated
+   */
+  @Override
+  public void evaluate(Consumer<Artifact> evaluated) {
+    evaluateModules(evaluated);
+    evaluateClasses(evaluated);
+    evaluateInterfaces(evaluated);
+    evaluateAnnotations(evaluated);
+    structure.getEnums().forEach(evaluated);
+    structure.resetAllArtifacts();
+  }
+
   @Override
   public JSONArray getStructureWithFitness() {
-    evaluateModules();
-    evaluateClasses();
-    evaluateInterfaces();
-    evaluateAnnotations();
+    evaluate();
     return structure.getJSON();
   }
 
-  private void evaluateModules() {
+  private void evaluateModules(Consumer<Artifact> evaluated) {
     structure.getPackages().stream()
         .parallel()
         .forEach(module -> {
           LOGGER.info("[EVALUATE] - MODULE - DDD:MODULE:{}", module.getName());
           module.evaluate(structure);
+          evaluated.accept(module);
         });
   }
 
-  private void evaluateClasses() {
+  private void evaluateClasses(Consumer<Artifact> evaluated) {
     structure.getClasses().stream()
         .parallel()
-        .forEach(item -> item.evaluate(structure));
+        .forEach(item -> {
+          item.evaluate(structure);
+          evaluated.accept(item);
+        });
   }
 
-  private void evaluateInterfaces() {
+  private void evaluateInterfaces(Consumer<Artifact> evaluated) {
     structure.getInterfaces().stream()
         .parallel()
-        .forEach(Interface::evaluate);
+        .forEach(item -> {
+          item.evaluate();
+          evaluated.accept(item);
+        });
   }
 
-  private void evaluateAnnotations() {
+  private void evaluateAnnotations(Consumer<Artifact> evaluated) {
     structure.getAnnotations().stream()
         .parallel()
         .forEach(item -> {
           LOGGER.info("[EVALUATE] - ANNOTATION - DDD:INFRASTRUCTURE:{}", item.getName());
           item.evaluate();
+          evaluated.accept(item);
         });
   }
 }
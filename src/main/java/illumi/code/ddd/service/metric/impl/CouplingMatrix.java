@@ -0,0 +1,178 @@
+package illumi.code.ddd.service.metric.impl;
+
+import illumi.code.ddd.model.artifacts.Artifact;
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.File;
+import illumi.code.ddd.model.artifacts.Interface;
+import illumi.code.ddd.model.artifacts.Package;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Couplings between the packages of a structure, built in one pass over the contained files.
+ * A file of a package depends on another package if it implements an interface or extends a
+ * class contained in that package, or if one of its dependencies contains the name of that
+ * package as inner segment (".name."). The id of a package is its index in the list.
+ */
+class CouplingMatrix {
+
+  private final List<Package> packages;
+  private final Map<String, int[]> packagesByName;
+  private final Map<Artifact, int[]> packagesByArtifact;
+
+  private final long[] abstracts;
+  private final long[] classes;
+  private final List<Map<Integer, Integer>> couplings;
+  private final long[] afferentCouplings;
+  private final long[] efferentCouplings;
+
+  /**
+   * Build the matrix, the rows of the packages are computed in parallel.
+   *
+   * @param packages : packages of the structure
+   */
+  CouplingMatrix(List<Package> packages) {
+    this.packages = packages;
+    this.packagesByName = new HashMap<>();
+    this.packagesByArtifact = new IdentityHashMap<>();
+    for (int id = 0; id < packages.size(); id++) {
+      packagesByName.merge(packages.get(id).getName(), new int[] {id}, CouplingMatrix::concat);
+      for (Artifact artifact : packages.get(id).getContains()) {
+        if (artifact instanceof File) {
+          packagesByArtifact.merge(artifact, new int[] {id}, CouplingMatrix::concat);
+        }
+      }
+    }
+
+    this.couplings = new ArrayList<>();
+    packages.forEach(module -> couplings.add(new HashMap<>()));
+    this.abstracts = new long[packages.size()];
+    this.classes = new long[packages.size()];
+    this.efferentCouplings = new long[packages.size()];
+    IntStream.range(0, packages.size())
+        .parallel()
+        .forEach(this::addCouplings);
+
+    this.afferentCouplings = new long[packages.size()];
+    for (Map<Integer, Integer> row : couplings) {
+      row.forEach((to, files) -> afferentCouplings[to] += files);
+    }
+  }
+
+  /**
+   * Number of interfaces contained in the package.
+   *
+   * @param id : id of the package
+   * @return number of interfaces
+   */
+  long countAbstracts(int id) {
+    return abstracts[id];
+  }
+
+  /**
+   * Number of classes, interfaces, enums and annotations contained in the package.
+   *
+   * @param id : id of the package
+   * @return number of files
+   */
+  long countClasses(int id) {
+    return classes[id];
+  }
+
+  /**
+   * Number of files of other packages depending on the package.
+   *
+   * @param id : id of the package
+   * @return afferent couplings
+   */
+  long getAfferentCouplings(int id) {
+    return afferentCouplings[id];
+  }
+
+  /**
+   * Number of files of the package depending on other packages.
+   *
+   * @param id : id of the package
+   * @return efferent couplings
+   */
+  long getEfferentCouplings(int id) {
+    return efferentCouplings[id];
+  }
+
+  /**
+   * Number of files of a package depending on another package.
+   *
+   * @param from : id of the depending package
+   * @param to   : id of the other package
+   * @return number of files
+   */
+  int getCoupling(int from, int to) {
+    return couplings.get(from).getOrDefault(to, 0);
+  }
+
+  private void addCouplings(int id) {
+    Map<Integer, Integer> row = couplings.get(id);
+    BitSet targets = new BitSet(packages.size());
+    for (Artifact artifact : packages.get(id).getContains()) {
+      if (artifact instanceof Interface) {
+        abstracts[id]++;
+      }
+      if (artifact instanceof File) {
+        classes[id]++;
+        targets.clear();
+        addTargets((File) artifact, targets);
+        targets.clear(id);
+        if (!targets.isEmpty()) {
+          efferentCouplings[id]++;
+        }
+        targets.stream().forEach(to -> row.merge(to, 1, Integer::sum));
+      }
+    }
+  }
+
+  private void addTargets(File artifact, BitSet targets) {
+    for (Interface implInterface : artifact.getImplInterfaces()) {
+      set(targets, packagesByArtifact.get(implInterface));
+    }
+    if (artifact instanceof Class) {
+      Class superClass = ((Class) artifact).getSuperClass();
+      if (superClass != null) {
+        set(targets, packagesByArtifact.get(superClass));
+      }
+      for (String dependency : ((Class) artifact).getDependencies()) {
+        addTargets(dependency, targets);
+      }
+    }
+  }
+
+  private void addTargets(String dependency, BitSet targets) {
+    int start = dependency.indexOf('.');
+    int end = start >= 0 ? dependency.indexOf('.', start + 1) : -1;
+    while (end >= 0) {
+      set(targets, packagesByName.get(dependency.substring(start + 1, end)));
+      start = end;
+      end = dependency.indexOf('.', start + 1);
+    }
+  }
+
+  private static void set(BitSet targets, int[] ids) {
+    if (ids != null) {
+      for (int id : ids) {
+        targets.set(id);
+      }
+    }
+  }
+
+  private static int[] concat(int[] first, int[] second) {
+    int[] result = new int[first.length + second.length];
+    System.arraycopy(first, 0, result, 0, first.length);
+    System.arraycopy(second, 0, result, first.length, second.length);
+    return result;
+  }
+}
@@ -16,10 +16,10 @@ public class DDDMetricService {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DDDMetricService.class);
 
-  private ArrayList<Artifact> allArtifacts;
+  private List<Artifact> allArtifacts;
 
   public DDDMetricService(List<Artifact> allArtifacts) {
-    this.allArtifacts = (ArrayList<Artifact>) allArtifacts;
+    this.allArtifacts = allArtifacts;
   }
 
   /**
@@ -1,13 +1,12 @@
 package illumi.code.ddd.service.metric.impl;
 
-import illumi.code.ddd.model.artifacts.Artifact;
-import illumi.code.ddd.model.artifacts.Class;
-import illumi.code.ddd.model.artifacts.File;
-import illumi.code.ddd.model.artifacts.Interface;
 import illumi.code.ddd.model.artifacts.Package;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -20,11 +19,11 @@ public class OODMetricService {
 
   private ArrayList<Package> packages;
 
-  private ArrayList<Double> distances;
+  private Double[] distances;
 
   public OODMetricService(List<Package> packages) {
     this.packages = (ArrayList<Package>) packages;
-    this.distances = new ArrayList<>();
+    this.distances = new Double[packages.size()];
   }
 
   /**
@@ -41,18 +40,25 @@ public class OODMetricService {
     LOGGER.info("[CALCULATE] - OOD - Module");
     JSONObject result = new JSONObject();
 
-    packages.stream()
+    CouplingMatrix matrix = new CouplingMatrix(packages);
+    JSONObject[] modules = new JSONObject[packages.size()];
+    IntStream.range(0, packages.size())
         .parallel()
-        .forEachOrdered(module -> result.put(module.getPath(), analyseModule(module)));
+        .forEach(id -> modules[id] = analyseModule(matrix, id));
+    for (int id = 0; id < modules.length; id++) {
+      result.put(packages.get(id).getPath(), modules[id]);
+    }
 
     return result.isEmpty() ? null : result;
   }
 
   private JSONObject calculateMetric() {
     LOGGER.info("[CALCULATE] - OOD - Distance");
-    if (!distances.isEmpty()) {
-      DescriptiveStatistics descriptiveStatistics = new DescriptiveStatistics();
-      distances.forEach(descriptiveStatistics::addValue);
+    DescriptiveStatistics descriptiveStatistics = new DescriptiveStatistics();
+    Stream.of(distances)
+        .filter(Objects::nonNull)
+        .forEach(descriptiveStatistics::addValue);
+    if (descriptiveStatistics.getN() > 0) {
 
       return new JSONObject()
           .put("avg", round(descriptiveStatistics.getMean()))
@@ -64,10 +70,11 @@ public class OODMetricService {
     return null;
   }
 
-  private JSONObject analyseModule(Package module) {
-    Double abstractness = calculateAbstractness(module);
-    Double instability = calculateInstability(module);
+  private JSONObject analyseModule(CouplingMatrix matrix, int id) {
+    Double abstractness = calculateAbstractness(matrix, id);
+    Double instability = calculateInstability(matrix, id);
     Double distance = calculateDistance(abstractness, instability);
+    distances[id] = distance;
 
     if (abstractness != null) {
       return new JSONObject()
@@ -85,28 +92,18 @@ public class OODMetricService {
     return null;
   }
 
-  private Double calculateAbstractness(Package module) {
-    long numberOfAbstracts = countNumberOfAbstracts(module);
-    long numberOfClasses = countNumberOfClasses(module);
+  private Double calculateAbstractness(CouplingMatrix matrix, int id) {
+    long numberOfAbstracts = matrix.countAbstracts(id);
+    long numberOfClasses = matrix.countClasses(id);
     if (numberOfClasses > 0) {
       return (double) numberOfAbstracts / numberOfClasses;
     }
     return null;
   }
 
-  private long countNumberOfAbstracts(Package module) {
-    return module.getContains().stream()
-        .filter(artifact -> artifact instanceof Interface).count();
-  }
-
-  private long countNumberOfClasses(Package module) {
-    return module.getContains().stream()
-        .filter(artifact -> artifact instanceof File).count();
-  }
-
-  private Double calculateInstability(Package module) {
-    long numberOfAfferentCouplings = countAfferentCouplings(module);
-    long numberOfEfferentCouplings = countEfferentCouplings(module);
+  private Double calculateInstability(CouplingMatrix matrix, int id) {
+    long numberOfAfferentCouplings = matrix.getAfferentCouplings(id);
+    long numberOfEfferentCouplings = matrix.getEfferentCouplings(id);
     if (numberOfAfferentCouplings > 0
         || numberOfEfferentCouplings > 0) {
       return (double) numberOfEfferentCouplings
@@ -115,68 +112,9 @@ public class OODMetricService {
     return null;
   }
 
-  private long countAfferentCouplings(Package module) {
-    long ctr = 0;
-    for (Package item : packages) {
-      if (item != module) {
-        ctr += item.getContains().stream()
-            .filter(artifact -> artifact instanceof File
-                && dependsOnModule(module, (File) artifact)).count();
-      }
-    }
-    return ctr;
-  }
-
-  private boolean dependsOnModule(Package module, File artifact) {
-
-    for (Interface implInterface : artifact.getImplInterfaces()) {
-      if (module.getContains().contains(implInterface)) {
-        return true;
-      }
-    }
-    if (artifact instanceof Class) {
-      return dependsOnModule(module, (Class) artifact);
-    }
-    return false;
-  }
-
-  private boolean dependsOnModule(Package module, Class artifact) {
-    if (artifact.getSuperClass() != null
-        && module.getContains().contains(artifact.getSuperClass())) {
-      return true;
-    }
-
-    for (String dependency : artifact.getDependencies()) {
-      if (dependency.contains(String.format(".%s.", module.getName()))) {
-        return true;
-      }
-    }
-    return false;
-  }
-
-  private long countEfferentCouplings(Package module) {
-    long ctr = 0;
-
-    for (Artifact artifact : module.getContains()) {
-      if (artifact instanceof File) {
-        for (Package item : packages) {
-          if (item != module && dependsOnModule(item, (File) artifact)) {
-            ctr++;
-            break;
-          }
-        }
-      }
-    }
-
-    return ctr;
-  }
-
   private Double calculateDistance(Double abstractness, Double instability) {
     if (abstractness != null && instability != null) {
-      double distance = Math.abs(abstractness + instability - 1.0);
-      distances.add(distance);
-
-      return distance;
+      return Math.abs(abstractness + instability - 1.0);
     }
     return null;
   }
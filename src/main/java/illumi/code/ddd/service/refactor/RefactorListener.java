@@ -0,0 +1,14 @@
+package illumi.code.ddd.service.refactor;
+
+public interface RefactorListener {
+
+  RefactorListener NONE = (step, count) -> { };
+
+  /**
+   * Called when a step of the refactoring has finished.
+   *
+   * @param step  : finished step
+   * @param count : number of artifacts in the refactored structure after the step
+   */
+  void onStep(RefactorStep step, int count);
+}
@@ -6,5 +6,7 @@ public interface RefactorService {
 
   void setOldStructure(DDDStructure oldStructure);
 
+  void setListener(RefactorListener listener);
+
   DDDStructure refactor();
 }
@@ -0,0 +1,18 @@
+package illumi.code.ddd.service.refactor;
+
+/**
+ * Steps of the refactoring in the order they are executed.
+ */
+public enum RefactorStep {
+  INITIALIZE,
+  ASSIGN,
+  ENTITIES,
+  VALUE_OBJECTS,
+  DOMAIN_EVENTS,
+  REPOSITORIES,
+  FACTORIES,
+  AGGREGATE_ROOTS,
+  DELETE_EMPTY_MODULES,
+  CLEAN_FITNESS,
+  DEPENDENCIES
+}
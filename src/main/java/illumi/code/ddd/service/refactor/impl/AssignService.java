@@ -1,6 +1,9 @@
 package illumi.code.ddd.service.refactor.impl;
 
 import illumi.code.ddd.model.DDDRefactorData;
+import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.DependencyGraph;
+import illumi.code.ddd.model.NameIndex;
 import illumi.code.ddd.model.artifacts.Annotation;
 import illumi.code.ddd.model.artifacts.Artifact;
 import illumi.code.ddd.model.artifacts.Class;
@@ -11,6 +14,9 @@ import illumi.code.ddd.model.artifacts.Interface;
 import illumi.code.ddd.model.artifacts.Package;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
 
 @SuppressWarnings("checkstyle:OverloadMethodsDeclarationOrder")
 class AssignService {
@@ -20,6 +26,10 @@ class AssignService {
 
   private DDDRefactorData refactorData;
 
+  private NameIndex rootNames;
+  private HashMap<String, Integer> rootDomains;
+  private HashMap<String, Integer> rootLowerDomains;
+
   AssignService(DDDRefactorData refactorData) {
     this.refactorData = refactorData;
   }
@@ -111,20 +121,59 @@ class AssignService {
   }
 
   private String getDomainOf(Artifact artifact) {
-    for (Class root : refactorData.getRoots()) {
-      if (isRootOf(root, artifact)) {
-        return root.getLowerName();
-      }
+    int root = getRootOf(artifact);
+    return root >= 0 ? refactorData.getRoots().get(root).getLowerName() : null;
+  }
+
+  // First root whose name or domain occurs in the name of the artifact, whose domain is a
+  // package of the artifact or equals the domain of the artifact.
+  private int getRootOf(Artifact artifact) {
+    int roots = refactorData.getRoots().size();
+    if (roots == 0) {
+      return -1;
     }
-    return null;
+    initRootIndex();
+    int root = Integer.MAX_VALUE;
+
+    BitSet names = rootNames.match(artifact.getLowerName());
+    for (int id = names.nextSetBit(0); id >= 0; id = names.nextSetBit(id + 1)) {
+      root = Math.min(root, id % roots);
+    }
+
+    String path = artifact.getPath();
+    int start = path.indexOf('.');
+    int end = start >= 0 ? path.indexOf('.', start + 1) : -1;
+    while (end >= 0) {
+      root = Math.min(root, rootDomains.getOrDefault(path.substring(start + 1, end), root));
+      start = end;
+      end = path.indexOf('.', start + 1);
+    }
+
+    if (artifact.getDomain() != null) {
+      root = Math.min(root,
+          rootLowerDomains.getOrDefault(artifact.getDomain().toLowerCase(), root));
+    }
+    return root != Integer.MAX_VALUE ? root : -1;
   }
 
-  private boolean isRootOf(Class root, Artifact artifact) {
-    return artifact.getLowerName().contains(root.getLowerName())
-        || artifact.getLowerName().contains(root.getDomain())
-        || artifact.getPath().contains("." + root.getDomain() + ".")
-        || (artifact.getDomain() != null
-        && artifact.getDomain().equalsIgnoreCase(root.getDomain()));
+  private void initRootIndex() {
+    if (rootNames == null) {
+      List<Class> roots = refactorData.getRoots();
+      List<String> names = new ArrayList<>();
+      roots.forEach(root -> names.add(root.getLowerName()));
+      roots.forEach(root -> names.add(root.getDomain()));
+      rootNames = new NameIndex(names);
+
+      rootDomains = new HashMap<>();
+      rootLowerDomains = new HashMap<>();
+      for (int i = 0; i < roots.size(); i++) {
+        String domain = roots.get(i).getDomain();
+        if (domain != null) {
+          rootDomains.putIfAbsent(domain, i);
+          rootLowerDomains.putIfAbsent(domain.toLowerCase(), i);
+        }
+      }
+    }
   }
 
   private String dependsOn(Class artifact) {
@@ -151,14 +200,17 @@ class AssignService {
   }
 
   private String dependsOnDependency(Class artifact) {
-    for (String dependency : artifact.getDependencies()) {
-      for (Class item : refactorData.getOldStructure().getClasses()) {
-        if (item != artifact
-            && item.getPath().equalsIgnoreCase(dependency)) {
-          String domain = getDomainOf(item);
-          if (domain != null) {
-            return domain;
-          }
+    DependencyGraph graph = refactorData.getOldStructure().getDependencyGraph();
+    int id = graph.getId(artifact);
+    if (id < 0) {
+      return null;
+    }
+    for (int dependency : graph.getDependencies(id)) {
+      Artifact item = graph.getArtifact(dependency);
+      if (item != artifact && item instanceof Class) {
+        String domain = getDomainOf(item);
+        if (domain != null) {
+          return domain;
         }
       }
     }
@@ -166,10 +218,12 @@ class AssignService {
   }
 
   private String dependsOnField(Class artifact) {
+    DDDStructure structure = refactorData.getOldStructure();
     for (Field field : artifact.getFields()) {
-      for (Class item : refactorData.getOldStructure().getClasses()) {
-        if (item != artifact
-            && field.getLowerName().contains(item.getLowerName())) {
+      BitSet names = structure.getLowerClassNameIndex().match(field.getLowerName());
+      for (int id = names.nextSetBit(0); id >= 0; id = names.nextSetBit(id + 1)) {
+        Class item = structure.getClasses().get(id);
+        if (item != artifact) {
           String domain = getDomainOf(item);
           if (domain != null) {
             return domain;
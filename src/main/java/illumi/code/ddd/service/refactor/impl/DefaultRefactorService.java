@@ -97,13 +97,7 @@ public abstract class DefaultRefactorService implements ArtifactRefactorService
   }
 
   Class getEntity(Package model, File file) {
-    for (Artifact artifact : model.getContains()) {
-      if (artifact instanceof Class
-          && file.getLowerName().contains(artifact.getLowerName())) {
-        return (Class) artifact;
-      }
-    }
-    return null;
+    return model.findClassIn(file.getLowerName());
   }
 
   String getIdOfEntity(Class entity) {
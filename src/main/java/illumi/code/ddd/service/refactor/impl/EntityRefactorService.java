@@ -130,7 +130,7 @@ public class EntityRefactorService extends DefaultRefactorService {
     Class newValueObject = new Class(name, path);
     newValueObject.setType(DDDType.VALUE_OBJECT);
     newValueObject.setDomain(domain);
-    newValueObject.addField(new Field(PRIVATE, field.getName(), field.getType()));
+    newValueObject.addField(new Field(PRIVATE, field.getName(), field.getTypeFqn()));
     newValueObject.addMethod(createEquals());
     newValueObject.addMethod(createHashCode());
     newValueObject.addMethod(createValueObjectGetter(field));
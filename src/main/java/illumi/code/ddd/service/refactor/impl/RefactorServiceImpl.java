@@ -2,10 +2,13 @@ package illumi.code.ddd.service.refactor.impl;
 
 import illumi.code.ddd.model.DDDRefactorData;
 import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.FqnTable;
 import illumi.code.ddd.model.artifacts.Artifact;
 import illumi.code.ddd.model.artifacts.Package;
 import illumi.code.ddd.model.fitness.DDDFitness;
+import illumi.code.ddd.service.refactor.RefactorListener;
 import illumi.code.ddd.service.refactor.RefactorService;
+import illumi.code.ddd.service.refactor.RefactorStep;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,6 +17,7 @@ import javax.inject.Inject;
 public class RefactorServiceImpl implements RefactorService {
 
   private DDDRefactorData refactorData;
+  private RefactorListener listener = RefactorListener.NONE;
 
   public @Inject RefactorServiceImpl() {
     // Empty
@@ -24,27 +28,52 @@ public class RefactorServiceImpl implements RefactorService {
     this.refactorData = new DDDRefactorData(oldStructure);
   }
 
+  @Override
+  public void setListener(RefactorListener listener) {
+    this.listener = listener;
+  }
+
   @Override
   public DDDStructure refactor() {
 
     new InitializeService(refactorData).initModules();
+    finished(RefactorStep.INITIALIZE);
     new AssignService(refactorData).assign();
+    finished(RefactorStep.ASSIGN);
 
     new EntityRefactorService(refactorData).refactor();
+    finished(RefactorStep.ENTITIES);
     new ValueObjectRefactorService(refactorData).refactor();
+    finished(RefactorStep.VALUE_OBJECTS);
     new DomainEventRefactorService(refactorData).refactor();
+    finished(RefactorStep.DOMAIN_EVENTS);
     new RepositoryRefactorService(refactorData).refactor();
+    finished(RefactorStep.REPOSITORIES);
     new FactoryRefactorService(refactorData).refactor();
+    finished(RefactorStep.FACTORIES);
     new AggregateRootRefactorService(refactorData).refactor();
+    finished(RefactorStep.AGGREGATE_ROOTS);
 
     deleteEmptyModules(refactorData.getNewStructure().getStructure());
+    finished(RefactorStep.DELETE_EMPTY_MODULES);
     cleanFitness();
+    finished(RefactorStep.CLEAN_FITNESS);
 
     refactorDependencies();
+    finished(RefactorStep.DEPENDENCIES);
 
     return refactorData.getNewStructure();
   }
 
+  private void finished(RefactorStep step) {
+    DDDStructure structure = refactorData.getNewStructure();
+    listener.onStep(step, structure.getPackages().size()
+        + structure.getClasses().size()
+        + structure.getInterfaces().size()
+        + structure.getEnums().size()
+        + structure.getAnnotations().size());
+  }
+
   private void deleteEmptyModules(List<Artifact> structure) {
     for (Artifact artifact : new ArrayList<>(structure)) {
       if (artifact instanceof Package) {
@@ -61,15 +90,16 @@ public class RefactorServiceImpl implements RefactorService {
     refactorData.getNewStructure().getAllArtifacts().stream()
         .parallel()
         .forEachOrdered(item -> item.setFitness(new DDDFitness()));
+    refactorData.getNewStructure().resetAllArtifacts();
   }
 
   private void refactorDependencies() {
+    FqnTable symbols = refactorData.getNewStructure().getSymbols();
     refactorData.getNewStructure().getClasses().stream()
         .parallel()
         .forEachOrdered(artifact -> {
           for (String dependency : new ArrayList<>(artifact.getDependencies())) {
-            String[] split = dependency.split("[.]");
-            String name = split[split.length - 1];
+            String name = symbols.intern(dependency).getSimpleName();
             String newPath = findNewPath(name);
             if (newPath != null) {
               artifact.getDependencies().remove(dependency);
@@ -77,6 +107,7 @@ public class RefactorServiceImpl implements RefactorService {
             }
           }
         });
+    refactorData.getNewStructure().resetDependencyGraph();
   }
 
   private String findNewPath(String name) {
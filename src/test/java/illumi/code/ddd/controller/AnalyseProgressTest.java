@@ -0,0 +1,51 @@
+package illumi.code.ddd.controller;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import illumi.code.ddd.service.analyse.AnalysePhase;
+import illumi.code.ddd.service.refactor.RefactorStep;
+
+import java.util.List;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+class AnalyseProgressTest {
+
+  @Test
+  void testEvents() {
+    AnalyseProgress progress = new AnalyseProgress();
+    progress.start();
+    progress.onPhase(AnalysePhase.READ_ARTIFACTS, 5);
+    progress.onStep(RefactorStep.INITIALIZE, 3);
+    progress.finish();
+
+    List<JSONObject> events = progress.getEvents().toList().blockingGet();
+
+    assertAll(
+        () -> assertEquals(2, events.size(), "#Event"),
+        () -> assertEquals("READ_ARTIFACTS", events.get(0).getString("event"), "Phase"),
+        () -> assertEquals(5, events.get(0).getInt("count"), "Count"),
+        () -> assertEquals("INITIALIZE", events.get(1).getString("event"), "Step"),
+        () -> assertTrue(events.get(1).getLong("elapsed") >= 0, "Elapsed"));
+  }
+
+  @Test
+  void testEventsOfNextOperation() {
+    AnalyseProgress progress = new AnalyseProgress();
+    progress.start();
+    progress.onPhase(AnalysePhase.READ_ARTIFACTS, 5);
+    progress.finish();
+    progress.start();
+    progress.onPhase(AnalysePhase.FITNESS, 7);
+    progress.finish();
+
+    List<JSONObject> events = progress.getEvents().toList().blockingGet();
+
+    assertAll(
+        () -> assertEquals(1, events.size(), "#Event"),
+        () -> assertEquals("FITNESS", events.get(0).getString("event"), "Phase"));
+  }
+}
@@ -0,0 +1,45 @@
+package illumi.code.ddd.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.Enum;
+import illumi.code.ddd.model.artifacts.Package;
+import illumi.code.ddd.service.analyse.AnalyseService;
+import illumi.code.ddd.service.fitness.FitnessService;
+import illumi.code.ddd.service.metric.MetricService;
+import illumi.code.ddd.service.refactor.RefactorService;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class AnalyseSessionTest {
+
+  @Test
+  void testCountEvaluatedEnums() {
+    AnalyseService analyseService = mock(AnalyseService.class);
+    AtomicReference<DDDStructure> structure = new AtomicReference<>();
+    doAnswer(invocation -> {
+      structure.set(invocation.getArgument(0));
+      return null;
+    }).when(analyseService).setStructure(any());
+    doAnswer(invocation -> {
+      structure.get().addPackage(new Package("test", "de.test"));
+      structure.get().addClass(new Class("Customer", "de.test.Customer"));
+      structure.get().addEnum(new Enum("CustomerType", "de.test.CustomerType"));
+      return null;
+    }).when(analyseService).analyzeSnapshot(any());
+
+    AnalyseSession session = new AnalyseSession("1", "de.test", analyseService,
+        mock(FitnessService.class), mock(MetricService.class), mock(RefactorService.class), true);
+    session.analyseSnapshot(mock(Path.class));
+
+    assertEquals(3, session.getProgress().toJSON().getInt("count"), "Evaluated");
+  }
+}
@@ -1,6 +1,10 @@
 package illumi.code.ddd.controller;
 
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import illumi.code.ddd.service.analyse.AnalyseService;
 import illumi.code.ddd.service.analyse.impl.AnalyseServiceImpl;
@@ -20,6 +24,7 @@ import io.micronaut.test.annotation.MockBean;
 
 import javax.inject.Inject;
 
+import org.json.JSONObject;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -66,9 +71,56 @@ class DDDControllerFailedTest {
         client.toBlocking().retrieve(HttpRequest.GET("/metric")));
   }
 
+  @Test
+  void testCreatingMetricsOfUnknownSession() {
+    Assertions.assertThrows(HttpClientResponseException.class, () ->
+        client.toBlocking().retrieve(HttpRequest.GET("/metric/unknown")));
+  }
+
   @Test
   void testRefactorStructure() {
     Assertions.assertThrows(HttpClientResponseException.class, () ->
         client.toBlocking().retrieve(HttpRequest.GET("/refactor")));
   }
+
+  @Test
+  void testAnalyzeMissingSnapshot() {
+    Assertions.assertThrows(HttpClientResponseException.class, () ->
+        client.toBlocking().retrieve(HttpRequest.GET("/analyse/snapshot/org.missing")));
+  }
+
+  @Test
+  void testAnalyzeSnapshotOutsideOfDirectory() {
+    Assertions.assertThrows(HttpClientResponseException.class, () ->
+        client.toBlocking().retrieve(HttpRequest.GET("/analyse/snapshot/..%2F..%2Fetc%2Fpasswd")));
+  }
+
+  @Test
+  void testCreatingSnapshotOutsideOfDirectory() {
+    Assertions.assertThrows(HttpClientResponseException.class, () ->
+        client.toBlocking().retrieve(HttpRequest.POST("/snapshot/..%2Fsecret", "")));
+
+    verify(analyseService, never()).exportSnapshot(any(), any());
+  }
+
+  @Test
+  void testProgressWithoutSession() {
+    Assertions.assertThrows(HttpClientResponseException.class, () ->
+        client.toBlocking().retrieve(HttpRequest.GET("/progress")));
+  }
+
+  @Test
+  void testAnalyseJobWithoutPath() {
+    Assertions.assertThrows(HttpClientResponseException.class, () ->
+        client.toBlocking().retrieve(HttpRequest.POST("/jobs/analyse",
+            new JSONObject().put("path", " ").toString())));
+
+    verify(analyseService, never()).getVersion(anyString());
+  }
+
+  @Test
+  void testCreatingSnapshotWithGet() {
+    Assertions.assertThrows(HttpClientResponseException.class, () ->
+        client.toBlocking().retrieve(HttpRequest.GET("/snapshot/org.petclinic")));
+  }
 }
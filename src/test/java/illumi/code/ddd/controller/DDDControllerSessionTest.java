@@ -0,0 +1,115 @@
+package illumi.code.ddd.controller;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.DDDType;
+import illumi.code.ddd.model.artifacts.Artifact;
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.Package;
+import illumi.code.ddd.service.analyse.AnalyseService;
+import illumi.code.ddd.service.analyse.impl.AnalyseServiceImpl;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.client.RxHttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.annotation.MicronautTest;
+import io.micronaut.test.annotation.MockBean;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import org.json.JSONArray;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@MicronautTest
+@SuppressWarnings("CheckStyle")
+class DDDControllerSessionTest {
+
+  private static final String PATH = "de.test";
+
+  @Inject
+  AnalyseService analyseService;
+
+  @Inject
+  AnalyseSessionRegistry sessions;
+
+  @Inject
+  @Client("/")
+  RxHttpClient client;
+
+  @MockBean(AnalyseServiceImpl.class)
+  AnalyseService analyseService() {
+    AnalyseService service = mock(AnalyseService.class);
+    AtomicReference<DDDStructure> structure = new AtomicReference<>();
+    doAnswer(invocation -> {
+      structure.set(invocation.getArgument(0));
+      return null;
+    }).when(service).setStructure(any());
+    when(service.getVersion(PATH)).then(invocation -> "1");
+    when(service.analyzeStructure(PATH)).then(invocation -> {
+      initStructure(structure.get());
+      return new JSONArray();
+    });
+    return service;
+  }
+
+  private static void initStructure(DDDStructure structure) {
+    structure.setPath(PATH);
+
+    Package module = new Package("test", PATH);
+    Class root = new Class("Root", "de.test.Root");
+    root.setType(DDDType.AGGREGATE_ROOT);
+    root.setDomain("domain0");
+    module.addContains(root);
+    structure.addPackage(module);
+    structure.addClass(root);
+
+    ArrayList<Artifact> data = new ArrayList<>();
+    data.add(module);
+    structure.setStructure(data);
+  }
+
+  @Test
+  void testRefactoringKeepsOtherSession() {
+    final String first = analyse();
+    final String second = analyse();
+
+    final String metric = client.toBlocking().retrieve(HttpRequest.GET("/metric/" + second));
+    final String artifacts = describe(sessions.get(second).getStructure());
+
+    final HttpResponse<String> refactoring = client.toBlocking()
+        .exchange(HttpRequest.GET("/refactor/" + first), String.class);
+
+    Assertions.assertAll("other session",
+        () -> Assertions.assertEquals(first, refactoring.header("X-Session-Id")),
+        () -> Assertions.assertNotEquals(artifacts,
+            describe(sessions.get(first).getStructure()), "Refactored"),
+        () -> Assertions.assertEquals(metric,
+            client.toBlocking().retrieve(HttpRequest.GET("/metric/" + second)), "Metric"),
+        () -> Assertions.assertEquals(artifacts,
+            describe(sessions.get(second).getStructure()), "Structure"));
+
+    verify(analyseService, times(1)).analyzeStructure(PATH);
+  }
+
+  private String analyse() {
+    final HttpResponse<String> analysis = client.toBlocking()
+        .exchange(HttpRequest.GET("/analyse/" + PATH), String.class);
+    return analysis.header("X-Session-Id");
+  }
+
+  private static String describe(DDDStructure structure) {
+    return structure.getAllArtifacts().stream()
+        .map(artifact -> artifact.getPath() + " " + artifact.getDomain() + " "
+            + artifact.getType() + " " + artifact.getFitness())
+        .collect(Collectors.joining(", "));
+  }
+}
@@ -0,0 +1,198 @@
+package illumi.code.ddd.controller;
+
+import static org.mockito.Mockito.mock;
+
+import illumi.code.ddd.model.DDDStructure;
+import illumi.code.ddd.model.artifacts.Artifact;
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.Package;
+import illumi.code.ddd.service.analyse.AnalyseListener;
+import illumi.code.ddd.service.analyse.AnalyseService;
+import illumi.code.ddd.service.analyse.impl.AnalyseServiceImpl;
+import illumi.code.ddd.service.fitness.FitnessService;
+import illumi.code.ddd.service.fitness.impl.FitnessServiceImpl;
+import illumi.code.ddd.service.metric.MetricService;
+import illumi.code.ddd.service.metric.impl.MetricServiceImpl;
+import illumi.code.ddd.service.refactor.RefactorService;
+import illumi.code.ddd.service.refactor.impl.RefactorServiceImpl;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.RxHttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.annotation.MicronautTest;
+import io.micronaut.test.annotation.MockBean;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@MicronautTest(environments = "streaming")
+@SuppressWarnings("CheckStyle")
+class DDDControllerStreamingTest {
+
+  @Inject
+  @Client("/")
+  RxHttpClient client;
+
+  @MockBean(AnalyseServiceImpl.class)
+  AnalyseService analyseService() {
+    return new StructureAnalyseService();
+  }
+
+  @MockBean(FitnessServiceImpl.class)
+  FitnessService fitnessService() {
+    return new StructureFitnessService();
+  }
+
+  @MockBean(MetricServiceImpl.class)
+  MetricService metricService() {
+    return mock(MetricService.class);
+  }
+
+  @MockBean(RefactorServiceImpl.class)
+  RefactorService refactorService() {
+    return mock(RefactorService.class);
+  }
+
+  @Test
+  void testStreamStructure() {
+    final String result = client.toBlocking().retrieve(HttpRequest.GET("/analyse/de.test"));
+
+    Assertions.assertTrue(new JSONArray(result)
+        .similar(StructureAnalyseService.analysed.getJSON()));
+  }
+
+  @Test
+  void testStreamSummaries() {
+    final String result = client.toBlocking()
+        .retrieve(HttpRequest.GET("/analyse/stream/de.summary"));
+    final String[] lines = result.split("\n");
+
+    Assertions.assertAll("NDJSON",
+        () -> Assertions.assertEquals(2, lines.length),
+        () -> Assertions.assertEquals("domain", new JSONObject(lines[0]).getString("name")),
+        () -> Assertions.assertEquals("Person", new JSONObject(lines[1]).getString("name")));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testWriteChunksOnScheduler() {
+    ExecutorService executor = Executors.newSingleThreadExecutor(task -> new Thread(task, "chunks"));
+    try {
+      DDDStructure structure = new DDDStructure();
+      Package domain = new Package("domain", "de.chunks.domain");
+      domain.addContains(new Class("Person", "de.chunks.domain.Person"));
+      structure.addPackage(domain);
+      structure.setStructure(new ArrayList<Artifact>(Collections.singletonList(domain)));
+      AnalyseSession session = new AnalyseSession("chunks", "de.chunks",
+          mock(AnalyseService.class), new StructureFitnessService(), mock(MetricService.class),
+          mock(RefactorService.class), true);
+      session.setStructure(structure);
+
+      final Flowable<byte[]> chunks = (Flowable<byte[]>) DDDController
+          .structure(session, null, Schedulers.from(executor)).getBody().orElse(null);
+      final Set<String> threads = ConcurrentHashMap.newKeySet();
+      final StringBuilder json = new StringBuilder();
+      for (byte[] chunk : chunks
+          .doOnNext(item -> threads.add(Thread.currentThread().getName()))
+          .blockingIterable()) {
+        json.append(new String(chunk, StandardCharsets.UTF_8));
+      }
+
+      Assertions.assertAll("chunks",
+          () -> Assertions.assertTrue(new JSONArray(json.toString())
+              .similar(structure.getJSON())),
+          () -> Assertions.assertEquals(Collections.singleton("chunks"), threads));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Analyses every system into a package with a single class.
+   */
+  static class StructureAnalyseService implements AnalyseService {
+    private static volatile DDDStructure analysed;
+
+    private DDDStructure structure;
+
+    @Override
+    public void setStructure(DDDStructure structure) {
+      this.structure = structure;
+      analysed = structure;
+    }
+
+    @Override
+    public void setListener(AnalyseListener listener) {
+      // no progress
+    }
+
+    @Override
+    public JSONArray analyzeStructure(String path) {
+      Package domain = new Package("domain", path + ".domain");
+      Class person = new Class("Person", path + ".domain.Person");
+      domain.addContains(person);
+      structure.addPackage(domain);
+      structure.addClass(person);
+      structure.setStructure(new ArrayList<Artifact>(Collections.singletonList(domain)));
+      return structure.getJSON();
+    }
+
+    @Override
+    public JSONArray analyzeSnapshot(Path file) {
+      return new JSONArray();
+    }
+
+    @Override
+    public boolean exportSnapshot(String path, Path file) {
+      return false;
+    }
+
+    @Override
+    public String getVersion(String path) {
+      return null;
+    }
+  }
+
+  /**
+   * Evaluates nothing, every package and class is final right away.
+   */
+  static class StructureFitnessService implements FitnessService {
+    private DDDStructure structure;
+
+    @Override
+    public void setStructure(DDDStructure structure) {
+      this.structure = structure;
+    }
+
+    @Override
+    public void evaluate() {
+      evaluate(artifact -> { });
+    }
+
+    @Override
+    public void evaluate(Consumer<Artifact> evaluated) {
+      structure.getPackages().forEach(evaluated);
+      structure.getClasses().forEach(evaluated);
+    }
+
+    @Override
+    public JSONArray getStructureWithFitness() {
+      return structure.getJSON();
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package illumi.code.ddd.controller;
 
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -16,6 +18,7 @@ import illumi.code.ddd.service.refactor.RefactorService;
 import illumi.code.ddd.service.refactor.impl.RefactorServiceImpl;
 
 import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
 import io.micronaut.http.client.RxHttpClient;
 import io.micronaut.http.client.annotation.Client;
 import io.micronaut.test.annotation.MicronautTest;
@@ -98,6 +101,33 @@ class DDDControllerTest {
     verify(fitnessService, times(1)).getStructureWithFitness();
   }
 
+  @Test
+  void testAnalyzeCachedStructure() {
+    JSONArray data = new JSONArray();
+    data.put(new JSONObject()
+        .put("DDD", "MODULE")
+        .put("name", "visit"));
+
+    when(analyseService.getVersion("org.petclinic.cached")).then(invocation -> "1");
+    when(analyseService.analyzeStructure("org.petclinic.cached")).then(invocation -> data);
+    when(fitnessService.getStructureWithFitness()).then(invocation -> data);
+
+    final String expected = "[{\"DDD\":\"MODULE\",\"name\":\"visit\"}]";
+
+    final String first = client.toBlocking()
+        .retrieve(HttpRequest.GET("/analyse/org.petclinic.cached"));
+    final String second = client.toBlocking()
+        .retrieve(HttpRequest.GET("/analyse/org.petclinic.cached"));
+
+    Assertions.assertAll("cached",
+        () -> Assertions.assertEquals(expected, first),
+        () -> Assertions.assertEquals(expected, second));
+
+    verify(analyseService, times(2)).getVersion("org.petclinic.cached");
+    verify(analyseService, times(1)).analyzeStructure("org.petclinic.cached");
+    verify(fitnessService, times(1)).getStructureWithFitness();
+  }
+
   @Test
   void testCreatingMetrics() {
     JSONObject data = new JSONObject()
@@ -119,6 +149,34 @@ class DDDControllerTest {
     verify(metricService, times(1)).getMetric();
   }
 
+  @Test
+  void testCreatingMetricsOfSession() {
+    JSONObject data = new JSONObject()
+        .put("metric", new JSONObject()
+            .put("score", "F"));
+
+    when(analyseService.analyzeStructure("org.petclinic.session"))
+        .then(invocation -> new JSONArray());
+    when(fitnessService.getStructureWithFitness()).then(invocation -> new JSONArray());
+    when(metricService.getMetric()).then(invocation -> data);
+
+    final HttpResponse<String> analysis = client.toBlocking()
+        .exchange(HttpRequest.GET("/analyse/org.petclinic.session"), String.class);
+    final String session = analysis.header("X-Session-Id");
+
+    Assertions.assertNotNull(session);
+
+    final HttpResponse<String> result = client.toBlocking()
+        .exchange(HttpRequest.GET("/metric/" + session), String.class);
+
+    Assertions.assertAll("session",
+        () -> Assertions.assertEquals("{\"metric\":{\"score\":\"F\"}}",
+            result.getBody().orElse(null)),
+        () -> Assertions.assertEquals(session, result.header("X-Session-Id")));
+
+    verify(metricService, times(1)).getMetric();
+  }
+
   @Test
   void testRefactoring() {
     JSONArray data = new JSONArray();
@@ -152,4 +210,15 @@ class DDDControllerTest {
     verify(refactorService, times(1)).refactor();
     verify(fitnessService, times(1)).getStructureWithFitness();
   }
+
+  @Test
+  void testCreatingSnapshot() {
+    when(analyseService.exportSnapshot(eq("org.petclinic"), any())).then(invocation -> true);
+
+    final String expected = "{\"snapshot\":\"snapshots/org.petclinic.snapshot\"}";
+
+    final String result = client.toBlocking().retrieve(HttpRequest.POST("/snapshot/org.petclinic", ""));
+
+    Assertions.assertEquals(expected, result);
+  }
 }
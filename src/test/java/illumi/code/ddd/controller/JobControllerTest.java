@@ -0,0 +1,177 @@
+package illumi.code.ddd.controller;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import illumi.code.ddd.service.analyse.AnalyseConfiguration;
+import illumi.code.ddd.service.analyse.AnalyseService;
+import illumi.code.ddd.service.analyse.impl.AnalyseServiceImpl;
+import illumi.code.ddd.service.fitness.FitnessService;
+import illumi.code.ddd.service.fitness.impl.FitnessServiceImpl;
+import illumi.code.ddd.service.metric.MetricService;
+import illumi.code.ddd.service.metric.impl.MetricServiceImpl;
+import illumi.code.ddd.service.refactor.RefactorService;
+import illumi.code.ddd.service.refactor.impl.RefactorServiceImpl;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.RxHttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.annotation.MicronautTest;
+import io.micronaut.test.annotation.MockBean;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@MicronautTest
+@SuppressWarnings("CheckStyle")
+class JobControllerTest {
+
+  @Inject
+  AnalyseService analyseService;
+  @Inject
+  FitnessService fitnessService;
+  @Inject
+  AnalyseConfiguration configuration;
+  @Inject
+  AnalyseSessionRegistry sessions;
+
+  @Inject
+  @Client("/")
+  RxHttpClient client;
+
+  @MockBean(AnalyseServiceImpl.class)
+  AnalyseService analyseService() {
+    return mock(AnalyseService.class);
+  }
+
+  @MockBean(FitnessServiceImpl.class)
+  FitnessService fitnessService() {
+    return mock(FitnessService.class);
+  }
+
+  @MockBean(MetricServiceImpl.class)
+  MetricService metricService() {
+    return mock(MetricService.class);
+  }
+
+  @MockBean(RefactorServiceImpl.class)
+  RefactorService refactorService() {
+    return mock(RefactorService.class);
+  }
+
+  @Test
+  void testAnalyseJob() throws InterruptedException {
+    JSONArray data = new JSONArray()
+        .put(new JSONObject()
+            .put("DDD", "MODULE")
+            .put("name", "visit"));
+
+    when(analyseService.analyzeStructure("org.petclinic.job")).then(invocation -> data);
+    when(fitnessService.getStructureWithFitness()).then(invocation -> data);
+
+    final String id = submit("org.petclinic.job");
+
+    HttpResponse<String> result = getResult(id);
+    for (int i = 0; i < 100 && result.getStatus() == HttpStatus.ACCEPTED; i++) {
+      Thread.sleep(50);
+      result = getResult(id);
+    }
+
+    final HttpResponse<String> done = result;
+    final JSONObject status = new JSONObject(client.toBlocking()
+        .retrieve(HttpRequest.GET("/jobs/" + id)));
+
+    Assertions.assertAll("job",
+        () -> Assertions.assertEquals(HttpStatus.OK, done.getStatus()),
+        () -> Assertions.assertEquals("[{\"DDD\":\"MODULE\",\"name\":\"visit\"}]",
+            done.getBody().orElse(null)),
+        () -> Assertions.assertEquals("DONE", status.getString("status")),
+        () -> Assertions.assertEquals(100, status.getInt("percent")));
+
+    verify(analyseService, times(1)).analyzeStructure("org.petclinic.job");
+  }
+
+  @Test
+  void testJoinRunningJob() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    when(analyseService.analyzeStructure("org.petclinic.running")).then(invocation -> {
+      started.countDown();
+      release.await(10, TimeUnit.SECONDS);
+      return new JSONArray();
+    });
+    when(fitnessService.getStructureWithFitness()).then(invocation -> new JSONArray());
+
+    final String first = submit("org.petclinic.running");
+    started.await(10, TimeUnit.SECONDS);
+    final String second = submit("org.petclinic.running");
+    final JSONObject status = new JSONObject(client.toBlocking()
+        .retrieve(HttpRequest.GET("/jobs/" + first)));
+    release.countDown();
+
+    Assertions.assertAll("join",
+        () -> Assertions.assertEquals(first, second),
+        () -> Assertions.assertEquals("RUNNING", status.getString("status")));
+  }
+
+  @Test
+  void testKeepSessionOfRunningJob() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    when(analyseService.analyzeStructure("org.petclinic.kept")).then(invocation -> {
+      started.countDown();
+      release.await(10, TimeUnit.SECONDS);
+      return new JSONArray();
+    });
+    when(fitnessService.getStructureWithFitness()).then(invocation -> new JSONArray());
+
+    final String kept = submit("org.petclinic.kept");
+    started.await(10, TimeUnit.SECONDS);
+    for (int i = 0; i <= configuration.getSessionMaxEntries(); i++) {
+      submit("org.petclinic.other" + i);
+    }
+    final boolean open = sessions.get(kept) != null;
+    release.countDown();
+
+    HttpResponse<String> result = getResult(kept);
+    for (int i = 0; i < 100 && result.getStatus() == HttpStatus.ACCEPTED; i++) {
+      Thread.sleep(50);
+      result = getResult(kept);
+    }
+
+    final HttpResponse<String> done = result;
+    Assertions.assertAll("kept",
+        () -> Assertions.assertTrue(open, "Open while running"),
+        () -> Assertions.assertEquals(HttpStatus.OK, done.getStatus()),
+        () -> Assertions.assertEquals(kept, done.header("X-Session-Id")));
+  }
+
+  @Test
+  void testUnknownJob() {
+    Assertions.assertThrows(HttpClientResponseException.class, () ->
+        client.toBlocking().retrieve(HttpRequest.GET("/jobs/unknown")));
+  }
+
+  private String submit(String path) {
+    String response = client.toBlocking().retrieve(HttpRequest.POST("/jobs/analyse",
+        new JSONObject().put("path", path).toString()));
+    return new JSONObject(response).getString("id");
+  }
+
+  private HttpResponse<String> getResult(String id) {
+    return client.toBlocking().exchange(HttpRequest.GET("/jobs/" + id + "/result"), String.class);
+  }
+}
@@ -0,0 +1,195 @@
+package illumi.code.ddd.model;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import illumi.code.ddd.model.artifacts.Annotation;
+import illumi.code.ddd.model.artifacts.Artifact;
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.Field;
+import illumi.code.ddd.model.artifacts.Interface;
+import illumi.code.ddd.model.artifacts.Package;
+import illumi.code.ddd.model.fitness.DDDFitness;
+import illumi.code.ddd.model.fitness.DDDIssueType;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DDDStructureTest {
+
+  @Test
+  void testAddClassOnlyOnce() {
+    DDDStructure structure = new DDDStructure();
+    Class artifact = new Class("Person", "de.test.domain.Person");
+
+    structure.addClass(artifact);
+    structure.addClass(artifact);
+
+    assertEquals(1, structure.getClasses().size());
+  }
+
+  @Test
+  void testFindClass() {
+    DDDStructure structure = new DDDStructure();
+    Class artifact = new Class("Person", "de.test.domain.Person");
+    structure.addClass(artifact);
+
+    assertAll("Should find class by fully qualified name only",
+        () -> assertEquals(artifact, structure.findClass("de.test.domain.Person")),
+        () -> assertNull(structure.findClass("de.test.domain.Pers")),
+        () -> assertNull(structure.findClass("java.lang.Object")));
+  }
+
+  @Test
+  void testFindRenamedClass() {
+    DDDStructure structure = new DDDStructure();
+    Class artifact = new Class("Person", "de.test.domain.Person");
+    structure.addClass(artifact);
+
+    artifact.setPath("de.test.domain.person.Person");
+
+    assertAll("Should find class by its current path",
+        () -> assertEquals(artifact, structure.findClass("de.test.domain.person.Person")),
+        () -> assertNull(structure.findClass("de.test.domain.Person")));
+  }
+
+  @Test
+  void testClassNameIndexAfterRename() {
+    DDDStructure structure = new DDDStructure();
+    Class artifact = new Class("Person", "de.test.domain.Person");
+    structure.addClass(artifact);
+
+    assertEquals(0, structure.getClassNameIndex().match("PersonRepository").nextSetBit(0));
+
+    artifact.setName("Customer");
+
+    assertAll("Should find class by its current name",
+        () -> assertEquals(-1,
+            structure.getClassNameIndex().match("PersonRepository").nextSetBit(0)),
+        () -> assertEquals(0,
+            structure.getClassNameIndex().match("CustomerRepository").nextSetBit(0)),
+        () -> assertEquals(0,
+            structure.getLowerClassNameIndex().match("customerrepository").nextSetBit(0)));
+  }
+
+  @Test
+  void testFindInterface() {
+    DDDStructure structure = new DDDStructure();
+    Interface first = new Interface("PersonRepository", "de.test.domain.PersonRepository");
+    Interface second = new Interface("Person", "de.test.domain.Person");
+    structure.addInterface(first);
+
+    assertEquals(first, structure.findInterface("de.test.domain.Person"), "Contains");
+
+    structure.addInterface(second);
+
+    assertAll("Should prefer the exact match",
+        () -> assertEquals(second, structure.findInterface("de.test.domain.Person")),
+        () -> assertNull(structure.findInterface("java.io.Serializable")));
+  }
+
+  @Test
+  void testFindAnnotation() {
+    DDDStructure structure = new DDDStructure();
+    Annotation artifact = new Annotation("Entity", "de.test.Entity");
+    structure.addAnnotation(artifact);
+
+    assertAll("Should find annotation",
+        () -> assertEquals(artifact, structure.findAnnotation("de.test.Entity")),
+        () -> assertEquals(artifact, structure.findAnnotation("test.Entity")),
+        () -> assertNull(structure.findAnnotation("javax.persistence.Entity")));
+  }
+
+  @Test
+  void testTypeIndexAfterTypeChange() {
+    DDDStructure structure = new DDDStructure();
+    Class artifact = new Class("PersonStore", "de.test.domain.PersonStore");
+    structure.addClass(artifact);
+
+    assertNull(structure.getTypeIndex().findNameContaining(DDDType.REPOSITORY, "person"));
+
+    artifact.setType(DDDType.REPOSITORY);
+
+    assertEquals(artifact,
+        structure.getTypeIndex().findNameContaining(DDDType.REPOSITORY, "person"));
+  }
+
+  @Test
+  void testTypeIndexKeptAfterOtherChanges() {
+    DDDStructure structure = new DDDStructure();
+    Class artifact = new Class("Person", "de.test.domain.Person");
+    structure.addClass(artifact);
+    Class other = new Class("Address", "de.test.domain.Address");
+    new DDDStructure().addClass(other);
+
+    TypeIndex index = structure.getTypeIndex();
+    artifact.setFitness(new DDDFitness(2, 1));
+    other.setType(DDDType.VALUE_OBJECT);
+
+    assertSame(index, structure.getTypeIndex());
+  }
+
+  @Test
+  void testAllArtifactsSortedByFitness() {
+    DDDStructure structure = new DDDStructure();
+    Class first = new Class("First", "de.test.domain.First");
+    Class second = new Class("Second", "de.test.domain.Second");
+    structure.addClass(first);
+    structure.addClass(second);
+
+    List<Artifact> before = structure.getAllArtifacts();
+
+    assertSame(before, structure.getAllArtifacts());
+
+    second.setFitness(new DDDFitness(2, 1));
+
+    assertSame(before, structure.getAllArtifacts());
+
+    structure.resetAllArtifacts();
+
+    assertEquals(Arrays.asList(second, first), structure.getAllArtifacts());
+  }
+
+  @Test
+  void testCopyIsIndependent() {
+    DDDStructure structure = new DDDStructure();
+    Package module = new Package("domain", "de.test.domain");
+    Interface repository = new Interface("PersonRepository", "de.test.domain.PersonRepository");
+    repository.setType(DDDType.INFRASTRUCTURE);
+    Class artifact = new Class("Person", "de.test.domain.Person");
+    artifact.setType(DDDType.ENTITY);
+    artifact.addField(new Field("private", "name", "java.lang.String"));
+    artifact.addImplInterface(repository);
+    artifact.getDDDFitness().addFailedCriteria(DDDIssueType.MAJOR, "No identity");
+    module.addContains(artifact);
+    module.addContains(repository);
+    structure.addPackage(module);
+    structure.addClass(artifact);
+    structure.addInterface(repository);
+    structure.getStructure().add(module);
+
+    DDDStructure copy = structure.copy();
+    Package copiedModule = (Package) copy.getStructure().get(0);
+    Class copiedArtifact = copy.findClass("de.test.domain.Person");
+    copiedArtifact.setName("Customer");
+    copiedArtifact.setType(DDDType.VALUE_OBJECT);
+    copiedArtifact.getFields().clear();
+    copiedArtifact.getDDDFitness().getIssues().clear();
+
+    assertAll("Should copy the artifacts without sharing them",
+        () -> assertSame(copy.getPackages().get(0), copiedModule),
+        () -> assertSame(copiedArtifact, copiedModule.getContains().get(0)),
+        () -> assertSame(copy.getInterfaces().get(0), copiedArtifact.getImplInterfaces().get(0)),
+        () -> assertNotSame(repository, copy.getInterfaces().get(0)),
+        () -> assertEquals(DDDType.INFRASTRUCTURE, copy.getInterfaces().get(0).getType()),
+        () -> assertEquals("Person", artifact.getName()),
+        () -> assertEquals(DDDType.ENTITY, artifact.getType()),
+        () -> assertEquals(1, artifact.getFields().size()),
+        () -> assertEquals(1, artifact.getDDDFitness().getIssues().size()),
+        () -> assertSame(artifact, structure.findClass("de.test.domain.Person")));
+  }
+}
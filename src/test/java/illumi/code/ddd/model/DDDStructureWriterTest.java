@@ -0,0 +1,72 @@
+package illumi.code.ddd.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import illumi.code.ddd.model.artifacts.Artifact;
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.Field;
+import illumi.code.ddd.model.artifacts.Interface;
+import illumi.code.ddd.model.artifacts.Method;
+import illumi.code.ddd.model.artifacts.Package;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.json.JSONArray;
+import org.junit.jupiter.api.Test;
+
+class DDDStructureWriterTest {
+
+  @Test
+  void testWrite() throws IOException {
+    DDDStructure structure = createStructure();
+    StringWriter writer = new StringWriter();
+
+    new DDDStructureWriter(structure).write(writer);
+
+    assertTrue(new JSONArray(writer.toString()).similar(structure.getJSON()));
+  }
+
+  @Test
+  void testEmptyStructure() {
+    DDDStructureWriter writer = new DDDStructureWriter(new DDDStructure());
+
+    assertEquals("[]", writer.nextChunk());
+    assertNull(writer.nextChunk());
+  }
+
+  private DDDStructure createStructure() {
+    DDDStructure structure = new DDDStructure();
+    Package domain = new Package("domain", "de.test.domain");
+    Package model = new Package("model", "de.test.domain.model");
+    Class person = new Class("Person", "de.test.domain.model.Person");
+    Class address = new Class("Address", "de.test.domain.model.Address");
+    Interface repository = new Interface("PersonRepository",
+        "de.test.domain.PersonRepository");
+
+    person.setType(DDDType.ENTITY);
+    person.addField(new Field("private", "name", "java.lang.String"));
+    person.addField(new Field("private", "address", "de.test.domain.model.Address"));
+    person.addMethod(new Method("public", "getName", "java.lang.String getName()"));
+    person.setDependencies(new ArrayList<>(
+        Collections.singletonList("de.test.domain.model.Address")));
+    person.addImplInterface(repository);
+
+    model.addContains(person);
+    model.addContains(address);
+    domain.addContains(model);
+    domain.addContains(repository);
+
+    structure.addPackage(domain);
+    structure.addPackage(model);
+    structure.addClass(person);
+    structure.addClass(address);
+    structure.addInterface(repository);
+    structure.setStructure(new ArrayList<Artifact>(Collections.singletonList(domain)));
+    return structure;
+  }
+}
@@ -0,0 +1,96 @@
+package illumi.code.ddd.model;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.Interface;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DependencyGraphTest {
+
+  private DDDStructure structure;
+  private Class person;
+  private Class address;
+  private Interface repository;
+
+  @BeforeEach
+  void init() {
+    structure = new DDDStructure();
+
+    person = new Class("Person", "de.test.domain.Person");
+    person.setDependencies(Arrays.asList("de.test.domain.Address",
+        "de.test.domain.PersonRepository", "java.lang.String", "de.test.domain.Address"));
+    structure.addClass(person);
+
+    address = new Class("Address", "de.test.domain.Address");
+    address.setDependencies(Arrays.asList("de.test.domain.Person"));
+    structure.addClass(address);
+
+    repository = new Interface("PersonRepository", "de.test.domain.PersonRepository");
+    structure.addInterface(repository);
+  }
+
+  @Test
+  void testDependencies() {
+    DependencyGraph graph = structure.getDependencyGraph();
+    int id = graph.getId(person);
+
+    assertAll(
+        () -> assertEquals(3, graph.size(), "#Artifact"),
+        () -> assertEquals(3, graph.countEdges(), "#Edge"),
+        () -> assertArrayEquals(new int[] {graph.getId(address), graph.getId(repository)},
+            graph.getDependencies(id), "Dependencies"),
+        () -> assertSame(repository,
+            graph.getArtifact(graph.getId("de.test.domain.PersonRepository")), "Path"),
+        () -> assertEquals(-1, graph.getId("java.lang.String"), "External"));
+  }
+
+  @Test
+  void testDependents() {
+    DependencyGraph graph = structure.getDependencyGraph();
+    int id = graph.getId(repository);
+
+    assertAll(
+        () -> assertEquals(1, graph.countDependents(id), "#Dependent"),
+        () -> assertArrayEquals(new int[] {graph.getId(person)}, graph.getDependents(id),
+            "Dependents"),
+        () -> assertTrue(graph.dependsOn(graph.getId(person), id), "Depends on"),
+        () -> assertFalse(graph.dependsOn(id, graph.getId(person)), "Not depends on"));
+  }
+
+  @Test
+  void testUsers() {
+    Class customer = new Class("Customer", "de.test.domain.Customer");
+    customer.setSuperClass(person);
+    structure.addClass(customer);
+    DependencyGraph graph = structure.getDependencyGraph();
+
+    List<Integer> users = new ArrayList<>();
+    graph.forEachUser(graph.getId(person), users::add);
+
+    assertEquals(Arrays.asList(graph.getId(address), graph.getId(customer)), users);
+  }
+
+  @Test
+  void testRebuildAfterChange() {
+    DependencyGraph graph = structure.getDependencyGraph();
+
+    assertSame(graph, structure.getDependencyGraph(), "Cached");
+
+    structure.addClass(new Class("Name", "de.test.domain.Name"));
+
+    assertNotSame(graph, structure.getDependencyGraph(), "Rebuilt");
+  }
+}
@@ -0,0 +1,58 @@
+package illumi.code.ddd.model;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import illumi.code.ddd.model.artifacts.Class;
+
+import org.junit.jupiter.api.Test;
+
+class FqnTableTest {
+
+  @Test
+  void testSegments() {
+    Fqn fqn = Fqn.of("de.test.domain.Person");
+
+    assertAll(
+        () -> assertEquals(4, fqn.size(), "#Segment"),
+        () -> assertEquals("domain", fqn.getSegment(2), "Segment"),
+        () -> assertEquals("Person", fqn.getSimpleName(), "Simple name"),
+        () -> assertEquals("person", fqn.getLowerName(), "Lower name"));
+  }
+
+  @Test
+  void testSegmentsLikeSplit() {
+    Fqn fqn = Fqn.of("de..test.");
+
+    assertAll(
+        () -> assertEquals(3, fqn.size(), "#Segment"),
+        () -> assertEquals("", fqn.getSegment(1), "Empty segment"),
+        () -> assertEquals("test", fqn.getSimpleName(), "Simple name"));
+  }
+
+  @Test
+  void testIntern() {
+    FqnTable symbols = new FqnTable();
+    Fqn fqn = symbols.intern(new String("de.test.domain.Person"));
+
+    assertAll(
+        () -> assertSame(fqn, symbols.intern("de.test.domain.Person"), "Shared"),
+        () -> assertSame(fqn.getValue(), symbols.internValue("de.test.domain.Person"), "Value"),
+        () -> assertNull(symbols.intern(null), "Null"),
+        () -> assertEquals(1, symbols.size(), "#Symbol"));
+  }
+
+  @Test
+  void testStructureInternsPaths() {
+    DDDStructure structure = new DDDStructure();
+    Class person = new Class("Person", new String("de.test.domain.Person"));
+    Class other = new Class("Person", new String("de.test.domain.Person"));
+
+    structure.addClass(person);
+    structure.addClass(other);
+
+    assertSame(person.getFqn(), other.getFqn());
+  }
+}
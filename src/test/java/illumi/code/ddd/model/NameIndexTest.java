@@ -0,0 +1,41 @@
+package illumi.code.ddd.model;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+class NameIndexTest {
+
+  @Test
+  void testMatch() {
+    NameIndex index = new NameIndex(Arrays.asList("Person", "PersonRepository", "Address",
+        "son", "Person"));
+
+    BitSet found = index.match("PersonRepositoryImpl");
+
+    assertAll(
+        () -> assertEquals(5, index.size(), "#Name"),
+        () -> assertEquals(BitSet.valueOf(new long[] {0b11011}), found, "Found"));
+  }
+
+  @Test
+  void testMatchOverlappingNames() {
+    NameIndex index = new NameIndex(Arrays.asList("abc", "bcd", "c", "abcde"));
+
+    assertEquals(BitSet.valueOf(new long[] {0b0111}), index.match("xabcdx"));
+  }
+
+  @Test
+  void testMatchEmptyAndNullNames() {
+    NameIndex index = new NameIndex(Arrays.asList("", null, "Person"));
+
+    assertAll(
+        () -> assertEquals(BitSet.valueOf(new long[] {0b001}), index.match("Address"), "Empty"),
+        () -> assertTrue(index.match("").get(0), "Empty text"));
+  }
+}
@@ -0,0 +1,50 @@
+package illumi.code.ddd.model;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import illumi.code.ddd.model.artifacts.Artifact;
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.Interface;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class TypeIndexTest {
+
+  @Test
+  void testGet() {
+    Class entity = new Class("Person", "de.test.domain.person.model.Person");
+    entity.setType(DDDType.ENTITY);
+    Interface repository = new Interface("PersonRepository",
+        "de.test.domain.person.model.PersonRepository");
+    repository.setType(DDDType.REPOSITORY);
+    Class other = new Class("Other", "de.test.domain.person.model.Other");
+
+    TypeIndex index = new TypeIndex(Arrays.<Artifact>asList(entity, repository, other));
+
+    assertAll("Should group artifacts by type",
+        () -> assertEquals(Arrays.asList(entity), index.get(DDDType.ENTITY)),
+        () -> assertEquals(Arrays.asList(repository), index.get(DDDType.REPOSITORY)),
+        () -> assertTrue(index.get(DDDType.FACTORY).isEmpty()));
+  }
+
+  @Test
+  void testFindNameContaining() {
+    Interface repository = new Interface("PersonRepository",
+        "de.test.domain.person.model.PersonRepository");
+    repository.setType(DDDType.REPOSITORY);
+    Class factory = new Class("PersonFactory", "de.test.domain.person.model.PersonFactory");
+    factory.setType(DDDType.FACTORY);
+
+    TypeIndex index = new TypeIndex(Arrays.<Artifact>asList(repository, factory));
+
+    assertAll("Should find artifacts of the type only",
+        () -> assertEquals(repository, index.findNameContaining(DDDType.REPOSITORY, "person")),
+        () -> assertEquals(factory, index.findNameContaining(DDDType.FACTORY, "person")),
+        () -> assertNull(index.findNameContaining(DDDType.SERVICE, "person")),
+        () -> assertNull(index.findNameContaining(DDDType.REPOSITORY, "address")));
+  }
+}
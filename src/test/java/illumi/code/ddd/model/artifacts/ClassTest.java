@@ -8,6 +8,8 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import illumi.code.ddd.model.DDDType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -357,6 +359,23 @@ class ClassTest {
     assertEquals(0, result.size());
   }
 
+  @Test
+  void testLazySources() {
+    Class artifact = new Class("Class", "de.test.Class");
+    artifact.setSuperClass(new Class("Super", "de.test.Super"));
+    artifact.setFieldSource(() -> Collections.singletonList(
+        new Field("private", "classId", "de.test.ClassId")));
+    artifact.setMethodSource(() -> Collections.singletonList(
+        new Method("public", "getClassId", "de.test.ClassId getClassId()")));
+    artifact.setDependencySource(() -> Arrays.asList("de.test.Super", "de.test.ClassId"));
+
+    assertAll("Should decode sources on first access",
+        () -> assertEquals(1, artifact.getFields().size(), "Fields"),
+        () -> assertEquals(1, artifact.getMethods().size(), "Methods"),
+        () -> assertEquals(Collections.singletonList("de.test.ClassId"),
+            artifact.getDependencies(), "Dependencies"));
+  }
+
   @Test
   @SuppressWarnings("CheckStyle")
   void testToJSON() {
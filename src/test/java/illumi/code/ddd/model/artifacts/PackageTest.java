@@ -1,6 +1,8 @@
 package illumi.code.ddd.model.artifacts;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,4 +33,35 @@ class PackageTest {
 
     assertEquals(1, module.getContains().size());
   }
+
+  @Test
+  void testFindClassIn() {
+    Class person = new Class("Person", "de.test.domain.Person");
+    module.addContains(new Interface("PersonRepository", "de.test.domain.PersonRepository"));
+    module.addContains(person);
+
+    assertAll(
+        () -> assertEquals(person, module.findClassIn("personrepository"), "Found"),
+        () -> assertNull(module.findClassIn("addressrepository"), "Not found"));
+
+    Class address = new Class("Address", "de.test.domain.Address");
+    module.addContains(address);
+
+    assertEquals(address, module.findClassIn("addressrepository"), "Added");
+  }
+
+  @Test
+  void testFindRenamedClassIn() {
+    Package module = new Package("domain", "de.test.domain");
+    Class person = new Class("Person", "de.test.domain.Person");
+    module.addContains(person);
+
+    assertEquals(person, module.findClassIn("personrepository"), "Found");
+
+    person.setName("Customer");
+
+    assertAll(
+        () -> assertNull(module.findClassIn("personrepository"), "Old name"),
+        () -> assertEquals(person, module.findClassIn("customerrepository"), "New name"));
+  }
 }
@@ -0,0 +1,60 @@
+package illumi.code.ddd.model.fitness;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class IssueListTest {
+
+  @Test
+  void testOrderedByWeight() {
+    DDDFitness fitness = new DDDFitness();
+    fitness.addFailedCriteria(DDDIssueType.MINOR, "minor");
+    fitness.addFailedCriteria(DDDIssueType.BLOCKER, "blocker");
+    fitness.addFailedCriteria(DDDIssueType.MAJOR, "first major");
+    fitness.addFailedCriteria(DDDIssueType.MAJOR, "second major");
+
+    assertEquals(Arrays.asList("[BLOCKER] blocker", "[MAJOR] first major",
+        "[MAJOR] second major", "[MINOR] minor"), fitness.getSortedIssues());
+  }
+
+  @Test
+  void testAddFitness() {
+    DDDFitness fitness = new DDDFitness();
+    fitness.addFailedCriteria(DDDIssueType.MINOR, "minor");
+    DDDFitness otherFitness = new DDDFitness();
+    otherFitness.addFailedCriteria(DDDIssueType.CRITICAL, "critical");
+
+    fitness.add(otherFitness);
+
+    assertEquals(Arrays.asList("[CRITICAL] critical", "[MINOR] minor"),
+        fitness.getSortedIssues());
+  }
+
+  @Test
+  void testRemove() {
+    DDDFitness fitness = new DDDFitness();
+    fitness.addFailedCriteria(DDDIssueType.MAJOR, "major");
+    fitness.addFailedCriteria(DDDIssueType.MINOR, "minor");
+
+    for (DDDIssue issue : new ArrayList<>(fitness.getIssues())) {
+      if (issue.getType() == DDDIssueType.MAJOR) {
+        fitness.getIssues().remove(issue);
+      }
+    }
+
+    assertAll("Should remove the issue from its bucket",
+        () -> assertEquals(1, fitness.getIssues().size(), "#Issues"),
+        () -> assertEquals("[MINOR] minor", fitness.getIssues().get(0).toString()),
+        () -> assertFalse(fitness.getIssues().isEmpty()));
+
+    fitness.getIssues().remove(fitness.getIssues().get(0));
+
+    assertTrue(fitness.getIssues().isEmpty());
+  }
+}
@@ -0,0 +1,69 @@
+package illumi.code.ddd.service.analyse;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class AnalyseExecutorFactoryTest {
+
+  @Test
+  void testBoundedExecutor() {
+    AnalyseConfiguration configuration = new AnalyseConfiguration();
+    configuration.setIoPoolSize(4);
+    configuration.setIoQueueSize(8);
+
+    ExecutorService executor = AnalyseExecutorFactory.create(configuration);
+
+    try {
+      assertTrue(executor instanceof ThreadPoolExecutor, "ThreadPool");
+      ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+      assertAll(
+          () -> assertEquals(4, pool.getMaximumPoolSize(), "Pool Size"),
+          () -> assertEquals(8, pool.getQueue().remainingCapacity(), "Queue Size"));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testVirtualThreadExecutor() throws Exception {
+    AnalyseConfiguration configuration = new AnalyseConfiguration();
+    configuration.setIoVirtualThreads(true);
+    configuration.setIoPoolSize(4);
+    configuration.setIoQueueSize(8);
+
+    ExecutorService executor = AnalyseExecutorFactory.create(configuration);
+
+    try {
+      Method isVirtual = getIsVirtual();
+      if (isVirtual != null) {
+        Future<Object> virtual = executor.submit(() -> isVirtual.invoke(Thread.currentThread()));
+        assertEquals(Boolean.TRUE, virtual.get(10, TimeUnit.SECONDS), "Virtual Thread");
+      } else {
+        assertTrue(executor instanceof ThreadPoolExecutor, "Fallback ThreadPool");
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+        assertAll(
+            () -> assertEquals(4, pool.getMaximumPoolSize(), "Pool Size"),
+            () -> assertEquals(8, pool.getQueue().remainingCapacity(), "Queue Size"));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static Method getIsVirtual() {
+    try {
+      return Thread.class.getMethod("isVirtual");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package illumi.code.ddd.service.analyse;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import illumi.code.ddd.model.DDDStructure;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class AnalyseResultCacheTest {
+
+  @Test
+  void testHit() {
+    AnalyseResultCache cache = new AnalyseResultCache(2, 1024, Duration.ofHours(1));
+    DDDStructure structure = new DDDStructure();
+    cache.put("de.test", "1", structure, "[]");
+
+    AnalyseResultCache.Result result = cache.get("de.test", "1");
+
+    assertNotNull(result, "Hit");
+    assertAll(
+        () -> assertEquals(structure, result.getStructure(), "Structure"),
+        () -> assertEquals("[]", result.getResponse(), "Response"),
+        () -> assertEquals(4, cache.getMemory(), "Memory"));
+  }
+
+  @Test
+  void testOtherVersion() {
+    AnalyseResultCache cache = new AnalyseResultCache(2, 1024, Duration.ofHours(1));
+    cache.put("de.test", "1", new DDDStructure(), "[]");
+
+    assertAll(
+        () -> assertNull(cache.get("de.test", "2"), "Version"),
+        () -> assertEquals(0, cache.size(), "Size"));
+  }
+
+  @Test
+  void testExpired() throws InterruptedException {
+    AnalyseResultCache cache = new AnalyseResultCache(2, 1024, Duration.ofMillis(1));
+    cache.put("de.test", "1", new DDDStructure(), "[]");
+
+    Thread.sleep(5);
+
+    assertNull(cache.get("de.test", "1"), "Expired");
+  }
+
+  @Test
+  void testEvictLeastRecentlyUsed() {
+    AnalyseResultCache cache = new AnalyseResultCache(2, 1024, Duration.ofHours(1));
+    cache.put("de.a", "1", new DDDStructure(), "[]");
+    cache.put("de.b", "1", new DDDStructure(), "[]");
+    cache.get("de.a", "1");
+    cache.put("de.c", "1", new DDDStructure(), "[]");
+
+    assertAll(
+        () -> assertNotNull(cache.get("de.a", "1"), "Recently used"),
+        () -> assertNull(cache.get("de.b", "1"), "Evicted"),
+        () -> assertNotNull(cache.get("de.c", "1"), "Added"),
+        () -> assertEquals(2, cache.size(), "Size"));
+  }
+
+  @Test
+  void testEvictByMemory() {
+    AnalyseResultCache cache = new AnalyseResultCache(10, 10, Duration.ofHours(1));
+    cache.put("de.a", "1", new DDDStructure(), "[1]");
+    cache.put("de.b", "1", new DDDStructure(), "[2]");
+    cache.put("de.c", "1", new DDDStructure(), "[too large]");
+
+    assertAll(
+        () -> assertNull(cache.get("de.a", "1"), "Evicted"),
+        () -> assertNotNull(cache.get("de.b", "1"), "Cached"),
+        () -> assertNull(cache.get("de.c", "1"), "Too large"),
+        () -> assertEquals(6, cache.getMemory(), "Memory"));
+  }
+}
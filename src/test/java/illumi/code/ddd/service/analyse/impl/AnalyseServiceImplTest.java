@@ -2,11 +2,26 @@ package illumi.code.ddd.service.analyse.impl;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import illumi.code.ddd.model.DDDStructure;
 import illumi.code.ddd.model.DDDType;
+import illumi.code.ddd.model.FqnTable;
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.Enum;
+import illumi.code.ddd.model.artifacts.Interface;
+import illumi.code.ddd.service.analyse.AnalyseConfiguration;
 import illumi.code.ddd.service.analyse.AnalyseService;
+import illumi.code.ddd.service.analyse.ExtractionMode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.json.JSONArray;
 import org.junit.jupiter.api.BeforeAll;
@@ -156,69 +171,173 @@ class AnalyseServiceImplTest {
   void readArtifacts() {
     try (Driver driver = GraphDatabase.driver(embeddedDatabaseServer.boltURI())) {
       AnalyseService service = new AnalyseServiceImpl(driver);
-      service.setStructure(new DDDStructure());
+      DDDStructure structure = new DDDStructure();
+      service.setStructure(structure);
 
       JSONArray result = service.analyzeStructure("de.test");
       System.out.println(result);
-      JSONArray infrastructure = result.getJSONObject(1).getJSONArray("contains");
-      assertAll("Should return DDD-Types of infrastructure",
-          () -> assertEquals(DDDType.INFRASTRUCTURE, infrastructure.getJSONObject(0).get("DDD"),
-              " 0: " + infrastructure.getJSONObject(0).get("name")),
-          () -> assertEquals(DDDType.INFRASTRUCTURE, infrastructure.getJSONObject(1).get("DDD"),
-              " 1: " + infrastructure.getJSONObject(0).get("name")),
-          () -> assertEquals(DDDType.INFRASTRUCTURE, infrastructure.getJSONObject(2).get("DDD"),
-              " 2: " + infrastructure.getJSONObject(0).get("name")),
-          () -> assertEquals(DDDType.INFRASTRUCTURE, infrastructure.getJSONObject(3).get("DDD"),
-              " 3: " + infrastructure.getJSONObject(0).get("name")));
-
-
-      JSONArray application = result.getJSONObject(0).getJSONArray("contains");
-      assertAll("Should return DDD-Types of application",
-          () -> assertEquals(DDDType.APPLICATION_SERVICE, application.getJSONObject(0).get("DDD")));
-
-
-      JSONArray domain = result.getJSONObject(2).getJSONArray("contains");
-
-      JSONArray productDomain = domain.getJSONObject(0).getJSONArray("contains");
-      assertTrue(productDomain.isEmpty());
-
-      JSONArray personDomain = domain.getJSONObject(1).getJSONArray("contains");
-
-      assertAll("Should return DDD-Types of domain",
-          () -> assertEquals(DDDType.DOMAIN_EVENT, personDomain.getJSONObject(0).get("DDD"),
-              " 0: " + personDomain.getJSONObject(0).getString("name")),
-          () -> assertEquals(DDDType.DOMAIN_EVENT, personDomain.getJSONObject(1).get("DDD"),
-              " 1: " + personDomain.getJSONObject(1).getString("name")),
-          () -> assertEquals(DDDType.VALUE_OBJECT, personDomain.getJSONObject(2).get("DDD"),
-              " 2: " + personDomain.getJSONObject(2).getString("name")),
-          () -> assertEquals(DDDType.SERVICE, personDomain.getJSONObject(3).get("DDD"),
-              " 3: " + personDomain.getJSONObject(3).getString("name")),
-          () -> assertEquals(DDDType.SERVICE, personDomain.getJSONObject(4).get("DDD"),
-              " 4: " + personDomain.getJSONObject(4).getString("name")),
-          () -> assertEquals(DDDType.SERVICE, personDomain.getJSONObject(5).get("DDD"),
-              " 5: " + personDomain.getJSONObject(5).getString("name")),
-          () -> assertEquals(DDDType.INFRASTRUCTURE, personDomain.getJSONObject(6).get("DDD"),
-              " 6: " + personDomain.getJSONObject(6).getString("name")),
-          () -> assertEquals(DDDType.REPOSITORY, personDomain.getJSONObject(7).get("DDD"),
-              " 7: " + personDomain.getJSONObject(7).getString("name")),
-          () -> assertEquals(DDDType.REPOSITORY, personDomain.getJSONObject(8).get("DDD"),
-              " 8: " + personDomain.getJSONObject(8).getString("name")),
-          () -> assertEquals(DDDType.FACTORY, personDomain.getJSONObject(9).get("DDD"),
-              " 9: " + personDomain.getJSONObject(9).getString("name")),
-          () -> assertEquals(DDDType.FACTORY, personDomain.getJSONObject(10).get("DDD"),
-              "10: " + personDomain.getJSONObject(10).getString("name")),
-          () -> assertEquals(DDDType.ENTITY, personDomain.getJSONObject(11).get("DDD"),
-              "11: " + personDomain.getJSONObject(11).getString("name")),
-          () -> assertEquals(DDDType.VALUE_OBJECT, personDomain.getJSONObject(12).get("DDD"),
-              "12: " + personDomain.getJSONObject(12).getString("name")),
-          () -> assertEquals(DDDType.VALUE_OBJECT, personDomain.getJSONObject(13).get("DDD"),
-              "13: " + personDomain.getJSONObject(13).getString("name")),
-          () -> assertEquals(DDDType.ENTITY, personDomain.getJSONObject(14).get("DDD"),
-              "14: " + personDomain.getJSONObject(14).getString("name")),
-          () -> assertEquals(DDDType.AGGREGATE_ROOT, personDomain.getJSONObject(15).get("DDD"),
-              "15: " + personDomain.getJSONObject(15).getString("name")));
+      assertStructure(result);
+      assertSharedFieldTypes(structure);
+    }
+  }
+
+  @Test
+  void readArtifactsInBulk() {
+    try (Driver driver = GraphDatabase.driver(embeddedDatabaseServer.boltURI())) {
+      AnalyseConfiguration configuration = new AnalyseConfiguration();
+      configuration.setExtraction(ExtractionMode.BULK);
+      AnalyseService service = new AnalyseServiceImpl(driver, configuration);
+      service.setStructure(new DDDStructure());
+
+      JSONArray result = service.analyzeStructure("de.test");
+      assertStructure(result);
+    }
+  }
+
+  @Test
+  void readArtifactsAsync() {
+    try (Driver driver = GraphDatabase.driver(embeddedDatabaseServer.boltURI())) {
+      AnalyseConfiguration configuration = new AnalyseConfiguration();
+      configuration.setExtraction(ExtractionMode.ASYNC);
+      configuration.setMaxInFlight(2);
+      AnalyseService service = new AnalyseServiceImpl(driver, configuration);
+      DDDStructure structure = new DDDStructure();
+      service.setStructure(structure);
+
+      JSONArray result = service.analyzeStructure("de.test");
+      assertStructure(result);
+      assertSharedFieldTypes(structure);
+    }
+  }
+
+  @Test
+  void failedClassificationAsync() {
+    assertFailedClassification(ExtractionMode.ASYNC);
+  }
+
+  @Test
+  void failedClassification() {
+    assertFailedClassification(ExtractionMode.ARTIFACT);
+  }
+
+  private void assertFailedClassification(ExtractionMode mode) {
+    try (Driver driver = GraphDatabase.driver(embeddedDatabaseServer.boltURI())) {
+      AnalyseConfiguration configuration = new AnalyseConfiguration();
+      configuration.setExtraction(mode);
+      AnalyseService service = new AnalyseServiceImpl(driver, configuration);
+      service.setStructure(new DDDStructure() {
+        @Override
+        public Interface findInterface(String path) {
+          throw new IllegalStateException("Interface " + path + " is broken");
+        }
+      });
+
+      assertThrows(IllegalStateException.class, () -> service.analyzeStructure("de.test"));
+    }
+  }
+
+  @Test
+  void analyzeIncremental() {
+    try (Driver driver = GraphDatabase.driver(embeddedDatabaseServer.boltURI())) {
+      AnalyseConfiguration configuration = new AnalyseConfiguration();
+      configuration.setExtraction(ExtractionMode.BULK);
+      configuration.setIncremental(true);
+      AnalyseService service = new AnalyseServiceImpl(driver, configuration);
+
+      service.setStructure(new DDDStructure());
+      assertStructure(service.analyzeStructure("de.test"));
+
+      service.setStructure(new DDDStructure());
+      assertStructure(service.analyzeStructure("de.test"));
+    }
+  }
 
+  @Test
+  void analyzeSnapshot() throws IOException {
+    Path file = Files.createTempFile("ddd", ".snapshot");
+    try (Driver driver = GraphDatabase.driver(embeddedDatabaseServer.boltURI())) {
+      AnalyseService exporter = new AnalyseServiceImpl(driver);
+      assertTrue(exporter.exportSnapshot("de.test", file), "Export");
     }
+
+    AnalyseService service = new AnalyseServiceImpl(null);
+    DDDStructure structure = new DDDStructure();
+    service.setStructure(structure);
+
+    JSONArray result = service.analyzeSnapshot(file);
+    assertStructure(result);
+    assertSharedFieldTypes(structure);
+
+    Files.delete(file);
+  }
+
+  private void assertSharedFieldTypes(DDDStructure structure) {
+    FqnTable symbols = structure.getSymbols();
+    Class customer = structure.findClass("de.test.domain.person.Customer");
+    assertAll("Should intern the field types in the symbol table of the structure",
+        () -> assertFalse(customer.getFields().isEmpty(), "Fields"),
+        () -> customer.getFields().forEach(field ->
+            assertSame(symbols.intern(field.getType()), field.getTypeFqn(), field.getName())));
+  }
+
+  private void assertStructure(JSONArray result) {
+    JSONArray infrastructure = result.getJSONObject(1).getJSONArray("contains");
+    assertAll("Should return DDD-Types of infrastructure",
+        () -> assertEquals(DDDType.INFRASTRUCTURE, infrastructure.getJSONObject(0).get("DDD"),
+            " 0: " + infrastructure.getJSONObject(0).get("name")),
+        () -> assertEquals(DDDType.INFRASTRUCTURE, infrastructure.getJSONObject(1).get("DDD"),
+            " 1: " + infrastructure.getJSONObject(0).get("name")),
+        () -> assertEquals(DDDType.INFRASTRUCTURE, infrastructure.getJSONObject(2).get("DDD"),
+            " 2: " + infrastructure.getJSONObject(0).get("name")),
+        () -> assertEquals(DDDType.INFRASTRUCTURE, infrastructure.getJSONObject(3).get("DDD"),
+            " 3: " + infrastructure.getJSONObject(0).get("name")));
+
+
+    JSONArray application = result.getJSONObject(0).getJSONArray("contains");
+    assertAll("Should return DDD-Types of application",
+        () -> assertEquals(DDDType.APPLICATION_SERVICE, application.getJSONObject(0).get("DDD")));
+
+
+    JSONArray domain = result.getJSONObject(2).getJSONArray("contains");
+
+    JSONArray productDomain = domain.getJSONObject(0).getJSONArray("contains");
+    assertTrue(productDomain.isEmpty());
+
+    JSONArray personDomain = domain.getJSONObject(1).getJSONArray("contains");
+
+    assertAll("Should return DDD-Types of domain",
+        () -> assertEquals(DDDType.DOMAIN_EVENT, personDomain.getJSONObject(0).get("DDD"),
+            " 0: " + personDomain.getJSONObject(0).getString("name")),
+        () -> assertEquals(DDDType.DOMAIN_EVENT, personDomain.getJSONObject(1).get("DDD"),
+            " 1: " + personDomain.getJSONObject(1).getString("name")),
+        () -> assertEquals(DDDType.VALUE_OBJECT, personDomain.getJSONObject(2).get("DDD"),
+            " 2: " + personDomain.getJSONObject(2).getString("name")),
+        () -> assertEquals(DDDType.SERVICE, personDomain.getJSONObject(3).get("DDD"),
+            " 3: " + personDomain.getJSONObject(3).getString("name")),
+        () -> assertEquals(DDDType.SERVICE, personDomain.getJSONObject(4).get("DDD"),
+            " 4: " + personDomain.getJSONObject(4).getString("name")),
+        () -> assertEquals(DDDType.SERVICE, personDomain.getJSONObject(5).get("DDD"),
+            " 5: " + personDomain.getJSONObject(5).getString("name")),
+        () -> assertEquals(DDDType.INFRASTRUCTURE, personDomain.getJSONObject(6).get("DDD"),
+            " 6: " + personDomain.getJSONObject(6).getString("name")),
+        () -> assertEquals(DDDType.REPOSITORY, personDomain.getJSONObject(7).get("DDD"),
+            " 7: " + personDomain.getJSONObject(7).getString("name")),
+        () -> assertEquals(DDDType.REPOSITORY, personDomain.getJSONObject(8).get("DDD"),
+            " 8: " + personDomain.getJSONObject(8).getString("name")),
+        () -> assertEquals(DDDType.FACTORY, personDomain.getJSONObject(9).get("DDD"),
+            " 9: " + personDomain.getJSONObject(9).getString("name")),
+        () -> assertEquals(DDDType.FACTORY, personDomain.getJSONObject(10).get("DDD"),
+            "10: " + personDomain.getJSONObject(10).getString("name")),
+        () -> assertEquals(DDDType.ENTITY, personDomain.getJSONObject(11).get("DDD"),
+            "11: " + personDomain.getJSONObject(11).getString("name")),
+        () -> assertEquals(DDDType.VALUE_OBJECT, personDomain.getJSONObject(12).get("DDD"),
+            "12: " + personDomain.getJSONObject(12).getString("name")),
+        () -> assertEquals(DDDType.VALUE_OBJECT, personDomain.getJSONObject(13).get("DDD"),
+            "13: " + personDomain.getJSONObject(13).getString("name")),
+        () -> assertEquals(DDDType.ENTITY, personDomain.getJSONObject(14).get("DDD"),
+            "14: " + personDomain.getJSONObject(14).getString("name")),
+        () -> assertEquals(DDDType.AGGREGATE_ROOT, personDomain.getJSONObject(15).get("DDD"),
+            "15: " + personDomain.getJSONObject(15).getString("name")));
   }
 
   @Test
@@ -230,4 +349,41 @@ class AnalyseServiceImplTest {
 
     assertTrue(result.isEmpty());
   }
+
+  @Test
+  void setupDomainsInOrder() {
+    List<String> expected = new ArrayList<>();
+    for (int i = 63; i >= 0; i--) {
+      expected.add("domain" + i);
+    }
+
+    for (int run = 0; run < 20; run++) {
+      DDDStructure structure = new DDDStructure();
+      for (int i = 63; i >= 32; i--) {
+        structure.addClass(newClass("domain" + i, DDDType.ENTITY));
+      }
+      structure.addClass(newClass("ignored", DDDType.SERVICE));
+      structure.addClass(newClass("domain40", DDDType.VALUE_OBJECT));
+      for (int i = 31; i >= 16; i--) {
+        Interface repository = new Interface("Repository", "de.test.domain" + i + ".Repository");
+        repository.setType(DDDType.REPOSITORY);
+        structure.addInterface(repository);
+      }
+      for (int i = 15; i >= 0; i--) {
+        structure.addEnum(new Enum("Type", "de.test.domain" + i + ".Type"));
+      }
+
+      AnalyseServiceImpl service = new AnalyseServiceImpl(null);
+      service.setStructure(structure);
+      service.setupDomains();
+
+      assertEquals(expected, structure.getDomains(), "Run " + run);
+    }
+  }
+
+  private static Class newClass(String domain, DDDType type) {
+    Class item = new Class("Item", "de.test." + domain + ".Item" + type);
+    item.setType(type);
+    return item;
+  }
 }
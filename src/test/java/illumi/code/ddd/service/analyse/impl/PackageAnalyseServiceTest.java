@@ -70,6 +70,38 @@ class PackageAnalyseServiceTest {
         () -> assertEquals(DDDType.AGGREGATE_ROOT, root.getType(), "Aggregate Root"));
   }
 
+  @Test
+  void testSetAggregateRootOfStructure() {
+    final Package module = new Package("domain", "de.test.domain");
+
+    Class entity = new Class("Entity", "de.test.domain.Entity");
+    entity.setType(DDDType.ENTITY);
+    entity.addDependencies("de.test.domain.Value");
+    module.addContains(entity);
+    structure.addClass(entity);
+
+    Class value = new Class("Value", "de.test.domain.Value");
+    value.setType(DDDType.ENTITY);
+    module.addContains(value);
+    structure.addClass(value);
+
+    Class root = new Class("Root", "de.test.domain.Root");
+    root.setType(DDDType.ENTITY);
+    root.addDependencies("de.test.domain.Entity");
+    root.addDependencies("de.test.domain.Value");
+    module.addContains(root);
+    structure.addClass(root);
+
+    PackageAnalyseService service = new PackageAnalyseService(module, structure);
+    service.setAggregateRoot();
+
+    assertAll("Should find an aggregate root using the dependency graph",
+        () -> assertEquals(2, value.getUsed().size(), "Used by"),
+        () -> assertEquals(1, entity.getUsed().size(), "Used by"),
+        () -> assertEquals(DDDType.ENTITY, entity.getType(), "Entity"),
+        () -> assertEquals(DDDType.AGGREGATE_ROOT, root.getType(), "Aggregate Root"));
+  }
+
   @Test
   void testSetAggregateRootWithMultipleCandidates() {
     Package module = new Package("domain", "de.test.domain");
@@ -0,0 +1,81 @@
+package illumi.code.ddd.service.metric.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import illumi.code.ddd.model.artifacts.Class;
+import illumi.code.ddd.model.artifacts.Interface;
+import illumi.code.ddd.model.artifacts.Package;
+
+import java.util.ArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CouplingMatrixTest {
+  private ArrayList<Package> packages;
+  private Package module1;
+  private Package module2;
+  private Package module3;
+
+  @BeforeEach
+  void init() {
+    packages = new ArrayList<>();
+    module1 = new Package("domain1", "de.domain1");
+    module2 = new Package("domain2", "de.domain2");
+    module3 = new Package("model", "de.domain2.model");
+    packages.add(module1);
+    packages.add(module2);
+    packages.add(module3);
+    module2.addContains(module3);
+  }
+
+  @Test
+  void testCouplings() {
+    Interface repository = new Interface("Repository", "de.domain1.Repository");
+    Class superClass = new Class("Super", "de.domain1.Super");
+    module1.addContains(repository);
+    module1.addContains(superClass);
+
+    Class entity = new Class("Entity", "de.domain2.Entity");
+    entity.setSuperClass(superClass);
+    entity.addImplInterface(repository);
+    entity.addDependencies("de.domain2.model.Value");
+    module2.addContains(entity);
+
+    Class value = new Class("Value", "de.domain2.model.Value");
+    value.addDependencies("de.domain1.Super");
+    value.addDependencies("de.domain2.model.Other");
+    module3.addContains(value);
+
+    CouplingMatrix matrix = new CouplingMatrix(packages);
+
+    assertEquals(1, matrix.getCoupling(1, 0), "entity -> domain1");
+    assertEquals(1, matrix.getCoupling(1, 2), "entity -> model");
+    assertEquals(1, matrix.getCoupling(2, 0), "value -> domain1");
+    assertEquals(1, matrix.getCoupling(2, 1), "value -> domain2");
+    assertEquals(0, matrix.getCoupling(2, 2), "own package");
+    assertEquals(2, matrix.getAfferentCouplings(0));
+    assertEquals(0, matrix.getEfferentCouplings(0));
+    assertEquals(1, matrix.getEfferentCouplings(1));
+    assertEquals(1, matrix.getEfferentCouplings(2));
+    assertEquals(1, matrix.countAbstracts(0));
+    assertEquals(2, matrix.countClasses(0));
+    assertEquals(1, matrix.countClasses(2));
+  }
+
+  @Test
+  void testCouplingsOfPackagesWithSameName() {
+    Package other = new Package("model", "de.domain1.model");
+    packages.add(other);
+    module1.addContains(other);
+
+    Class entity = new Class("Entity", "de.domain2.Entity");
+    entity.addDependencies("de.domain2.model.Value");
+    module2.addContains(entity);
+
+    CouplingMatrix matrix = new CouplingMatrix(packages);
+
+    assertEquals(1, matrix.getAfferentCouplings(2));
+    assertEquals(1, matrix.getAfferentCouplings(3));
+    assertEquals(1, matrix.getEfferentCouplings(1));
+  }
+}
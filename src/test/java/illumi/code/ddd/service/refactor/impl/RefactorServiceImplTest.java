@@ -8,8 +8,12 @@ import illumi.code.ddd.model.DDDType;
 import illumi.code.ddd.model.artifacts.Artifact;
 import illumi.code.ddd.model.artifacts.Class;
 import illumi.code.ddd.model.artifacts.Package;
+import illumi.code.ddd.service.refactor.RefactorStep;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -64,4 +68,18 @@ class RefactorServiceImplTest {
     assertAll(() -> assertEquals(13, result.getPackages().size(), "#Package"),
         () -> assertEquals(8, result.getClasses().size(), "#Class"));
   }
+
+  @Test
+  void testRefactorSteps() {
+    Map<RefactorStep, Integer> steps = new LinkedHashMap<>();
+    service.setListener(steps::put);
+
+    final DDDStructure result = service.refactor();
+
+    assertAll(() -> assertEquals(Arrays.asList(RefactorStep.values()),
+            new ArrayList<>(steps.keySet()), "Steps"),
+        () -> assertEquals(result.getPackages().size() + result.getClasses().size()
+            + result.getInterfaces().size() + result.getEnums().size()
+            + result.getAnnotations().size(), steps.get(RefactorStep.DEPENDENCIES).intValue(), "Count"));
+  }
 }